@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.amlib;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static java.lang.Long.parseLong;
+import static uk.gov.hmcts.reform.amlib.utils.DataSourceFactory.createDataSource;
+import static uk.gov.hmcts.reform.amlib.utils.EnvironmentVariableUtils.getValueOrDefault;
+
+/**
+ * Prints execution plans of explicit access queries so that effect of indexes can be compared on a large data set.
+ * Table is topped up with synthetic records up to number of rows configured with {@code BENCHMARK_QUERY_PLAN_ROWS}
+ * (10 million by default) before plans are collected. Statements modifying data are rolled back.
+ */
+@SuppressWarnings({"PMD.SystemPrintln", "LineLength"})
+public class QueryPlanReport {
+    private static final String[] QUERIES = {
+        "select * from access_management where accessor_id = 'user-42' and resource_id = 'fpl-resource-42'",
+        "select * from access_management where accessor_id = 'user-42' and resource_id in ('fpl-resource-42', 'cmc-resource-42', 'fpl-resource-43')",
+        "select * from access_management where accessor_id = 'user-42'",
+        "delete from access_management where resource_id = 'fpl-resource-42' and accessor_id = 'user-42' and accessor_type = 'USER' "
+            + "and resource_definition_id = (select id from resources where service_name = 'fpl' and resource_type = 'case' and resource_name = 'application') and relationship = 'caseworker' "
+            + "and (attribute = '/orders' or attribute like '/orders' || '/%')"
+    };
+
+    private QueryPlanReport() {
+        throw new UnsupportedOperationException("Constructing utility class is not supported");
+    }
+
+    public static void main(String[] args) throws SQLException {
+        long targetRows = parseLong(getValueOrDefault("BENCHMARK_QUERY_PLAN_ROWS", "10000000"));
+
+        try (Connection connection = createDataSource().getConnection()) {
+            populate(connection, targetRows);
+
+            connection.setAutoCommit(false);
+            for (String query : QUERIES) {
+                System.out.println(query);
+                try (Statement statement = connection.createStatement();
+                     ResultSet plan = statement.executeQuery("explain (analyze, buffers) " + query)) {
+                    while (plan.next()) {
+                        System.out.println("  " + plan.getString(1));
+                    }
+                }
+                connection.rollback();
+            }
+        }
+    }
+
+    private static void populate(Connection connection, long targetRows) throws SQLException {
+        long existingRows;
+        try (Statement statement = connection.createStatement();
+             ResultSet count = statement.executeQuery("select count(*) from access_management")) {
+            count.next();
+            existingRows = count.getLong(1);
+        }
+
+        if (existingRows < targetRows) {
+            System.out.println("Inserting " + (targetRows - existingRows) + " synthetic records");
+            try (PreparedStatement statement = connection.prepareStatement(
+                "insert into access_management (resource_id, accessor_id, permissions, accessor_type, resource_definition_id, attribute, relationship) "
+                    + "select 'synthetic-resource-' || (n / 10), 'synthetic-user-' || (n % 100000), 2, 'USER', r.id, '/attribute-' || (n % 10), 'caseworker' "
+                    + "from generate_series(?, ?) n, resources r where r.service_name = 'fpl' and r.resource_type = 'case' and r.resource_name = 'application' "
+                    + "on conflict do nothing")) {
+                statement.setLong(1, existingRows);
+                statement.setLong(2, targetRows - 1);
+                statement.executeUpdate();
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze access_management");
+        }
+    }
+}
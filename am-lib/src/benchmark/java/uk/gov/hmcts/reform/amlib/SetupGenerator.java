@@ -110,7 +110,7 @@ public class SetupGenerator {
             );
 
             // Explicit permissions
-            IntStream.range(1, 25001).forEach(number -> service.grantExplicitResourceAccess(
+            service.bulkGrantExplicitResourceAccess(IntStream.range(1, 25001).mapToObj(number ->
                 ExplicitAccessGrant.builder()
                     .resourceDefinition(ResourceDefinition.builder()
                         .serviceName(definition.serviceName)
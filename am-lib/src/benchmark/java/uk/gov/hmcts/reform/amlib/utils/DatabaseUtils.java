@@ -14,6 +14,8 @@ import java.time.Instant;
 import static uk.gov.hmcts.reform.amlib.utils.DataSourceFactory.createDataSource;
 
 public class DatabaseUtils {
+    private static final String ACCESS_MANAGEMENT_TABLE = "access_management";
+
     private DatabaseUtils() {
         throw new UnsupportedOperationException("Constructing utility class is not supported");
     }
@@ -26,9 +28,10 @@ public class DatabaseUtils {
                     String fileName = scriptPath.getFileName().toString();
                     if (fileName.endsWith("copy.sql")) {
                         String tableName = fileName.substring(0, fileName.indexOf("."));
-                        try (BufferedReader scriptReader = Files.newBufferedReader(scriptPath)) {
-                            CopyManager copyManager = connection.unwrap(BaseConnection.class).getCopyAPI();
-                            copyManager.copyIn("COPY public." + tableName + " FROM stdin", scriptReader);
+                        if (ACCESS_MANAGEMENT_TABLE.equals(tableName)) {
+                            copyAccessManagement(connection, scriptPath);
+                        } else {
+                            copy(connection, "public." + tableName, scriptPath);
                         }
                     } else {
                         try (Statement statement = connection.createStatement()) {
@@ -44,6 +47,34 @@ public class DatabaseUtils {
         });
     }
 
+    /**
+     * Access management dump has columns of the table before resource definitions were referenced by surrogate key,
+     * so it is copied to a staging table with columns of the dump and resource definitions are resolved to their keys.
+     */
+    private static void copyAccessManagement(Connection connection, Path scriptPath) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMPORARY TABLE access_management_dump ("
+                + "access_management_id INTEGER, resource_id VARCHAR(250), accessor_id VARCHAR(100), "
+                + "permissions INTEGER, accessor_type VARCHAR(100), service_name VARCHAR(100), "
+                + "resource_type VARCHAR(100), resource_name VARCHAR(100), attribute VARCHAR(250), "
+                + "relationship VARCHAR(100)) ON COMMIT DROP");
+            copy(connection, "access_management_dump", scriptPath);
+            statement.execute("INSERT INTO access_management (access_management_id, resource_id, accessor_id, "
+                + "permissions, accessor_type, resource_definition_id, attribute, relationship) "
+                + "SELECT d.access_management_id, d.resource_id, d.accessor_id, d.permissions, "
+                + "cast(d.accessor_type AS accessor_type), r.id, d.attribute, d.relationship "
+                + "FROM access_management_dump d JOIN resources r ON r.service_name = d.service_name "
+                + "AND r.resource_type = d.resource_type AND r.resource_name = d.resource_name");
+        }
+    }
+
+    private static void copy(Connection connection, String tableName, Path scriptPath) throws Exception {
+        try (BufferedReader scriptReader = Files.newBufferedReader(scriptPath)) {
+            CopyManager copyManager = connection.unwrap(BaseConnection.class).getCopyAPI();
+            copyManager.copyIn("COPY " + tableName + " FROM stdin", scriptReader);
+        }
+    }
+
     private static void runWithTimeTracking(Runner runner) throws Throwable {
         Instant startTime = Instant.now();
         System.out.println("Script execution started");
@@ -0,0 +1,131 @@
+package uk.gov.hmcts.reform.amlib;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import uk.gov.hmcts.reform.amlib.exceptions.PersistenceException;
+import uk.gov.hmcts.reform.amlib.internal.repositories.PartitioningRepository;
+
+import javax.sql.DataSource;
+import javax.validation.constraints.Positive;
+
+/**
+ * Opt-in migration of explicit access records to a table hash partitioned by resource id, performed online while
+ * the library keeps serving requests. All queries made by the library filter explicit access records by resource id
+ * so that only one partition is scanned per resource.
+ *
+ * <p>Migration is performed in three steps:
+ * <ol>
+ * <li>{@link #preparePartitionedTable(int)} creates partitioned table and starts mirroring changes made to original
+ * table onto it</li>
+ * <li>{@link #copyExistingRecords(int)} copies existing records in batches; copying can be interrupted and resumed</li>
+ * <li>{@link #switchToPartitionedTable()} briefly locks original table, copies remaining records and replaces
+ * original table with partitioned one</li>
+ * </ol>
+ *
+ * <p>Original table is kept as {@code access_management_unpartitioned} and can be dropped once migration is
+ * verified. Hash partitioning requires PostgreSQL 11 or newer, therefore migration is not part of regular
+ * database migrations.
+ */
+@Slf4j
+public class AccessManagementPartitioningService {
+
+    private static final int MINIMUM_SERVER_VERSION = 110_000;
+
+    private final Jdbi jdbi;
+
+    /**
+     * This constructor has issues with performance due to requiring a new connection for every query.
+     *
+     * @param url      the url for the database
+     * @param username the username for the database
+     * @param password the password for the database
+     */
+    public AccessManagementPartitioningService(String url, String username, String password) {
+        this.jdbi = Jdbi.create(url, username, password)
+            .installPlugin(new SqlObjectPlugin());
+    }
+
+    /**
+     * This constructor is recommended to be used over the above.
+     *
+     * @param dataSource the datasource for the database
+     */
+    public AccessManagementPartitioningService(DataSource dataSource) {
+        this.jdbi = Jdbi.create(dataSource)
+            .installPlugin(new SqlObjectPlugin());
+    }
+
+    /**
+     * Creates partitioned table with given number of partitions and starts mirroring changes made to original table
+     * onto partitioned table. Does nothing if partitioned table has already been prepared.
+     *
+     * @param partitions number of hash partitions
+     * @throws UnsupportedOperationException if database does not support hash partitioning
+     * @throws PersistenceException          if any persistence errors were encountered causing transaction rollback
+     */
+    public void preparePartitionedTable(@Positive int partitions) {
+        jdbi.useTransaction(handle -> {
+            PartitioningRepository dao = handle.attach(PartitioningRepository.class);
+            if (dao.getServerVersion() < MINIMUM_SERVER_VERSION) {
+                throw new UnsupportedOperationException("Hash partitioning requires PostgreSQL 11 or newer");
+            }
+            if (dao.isPartitionedTablePrepared()) {
+                return;
+            }
+
+            dao.createPartitionedTable();
+            for (int remainder = 0; remainder < partitions; remainder++) {
+                dao.createPartition(partitions, remainder);
+            }
+            dao.addPartitionedTableConstraints();
+            dao.createPartitionedTableIndexes();
+            dao.createProgressTable();
+            dao.createMirrorTrigger();
+        });
+    }
+
+    /**
+     * Copies records that existed before partitioned table was prepared. Every batch is copied in a separate
+     * transaction so that original table is never locked for long and copying can be resumed after failure.
+     *
+     * @param batchSize number of records copied in a single transaction
+     * @return number of records processed by this call
+     * @throws PersistenceException if any persistence errors were encountered
+     */
+    public long copyExistingRecords(@Positive int batchSize) {
+        long processedRecords = 0;
+        int batchRecords;
+        do {
+            batchRecords = jdbi.inTransaction(handle ->
+                handle.attach(PartitioningRepository.class).copyNextBatch(batchSize));
+            processedRecords += batchRecords;
+            log.debug("> Copied batch of {} explicit access records to partitioned table", batchRecords);
+        } while (batchRecords > 0);
+        return processedRecords;
+    }
+
+    /**
+     * Replaces original table with partitioned table. Original table is locked for the duration of the switch,
+     * during which records not copied yet are copied and both tables are compared record by record. Records that
+     * differ, for example because a change was mirrored while the record was being copied, are copied again.
+     *
+     * @throws PersistenceException if any persistence errors were encountered causing transaction rollback
+     */
+    public void switchToPartitionedTable() {
+        jdbi.useTransaction(handle -> {
+            PartitioningRepository dao = handle.attach(PartitioningRepository.class);
+            dao.lockOriginalTable();
+            int remainingRecords = dao.copyNextBatch(Integer.MAX_VALUE);
+            log.debug("> Copied remaining {} explicit access records to partitioned table", remainingRecords);
+
+            int staleRecords = dao.deleteStalePartitionedRecords();
+            int missingRecords = dao.insertMissingPartitionedRecords();
+            if (staleRecords > 0 || missingRecords > 0) {
+                log.warn("> Reconciled partitioned table by deleting {} stale and inserting {} missing "
+                    + "explicit access records", staleRecords, missingRecords);
+            }
+            dao.switchTables();
+        });
+    }
+}
@@ -1,9 +1,14 @@
 package uk.gov.hmcts.reform.amlib;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
+import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.postgresql.PGConnection;
 import uk.gov.hmcts.reform.amlib.enums.AccessType;
 import uk.gov.hmcts.reform.amlib.enums.Permission;
 import uk.gov.hmcts.reform.amlib.enums.SecurityClassification;
@@ -11,28 +16,53 @@ import uk.gov.hmcts.reform.amlib.exceptions.PersistenceException;
 import uk.gov.hmcts.reform.amlib.internal.FilterService;
 import uk.gov.hmcts.reform.amlib.internal.PermissionsService;
 import uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog;
+import uk.gov.hmcts.reform.amlib.internal.cache.DefaultPermissionsCache;
+import uk.gov.hmcts.reform.amlib.internal.cache.DefaultPermissionsSnapshot;
+import uk.gov.hmcts.reform.amlib.internal.cache.RoleCache;
 import uk.gov.hmcts.reform.amlib.internal.models.ExplicitAccessRecord;
 import uk.gov.hmcts.reform.amlib.internal.models.Role;
 import uk.gov.hmcts.reform.amlib.internal.models.query.AttributeData;
 import uk.gov.hmcts.reform.amlib.internal.repositories.AccessManagementRepository;
+import uk.gov.hmcts.reform.amlib.internal.repositories.ExplicitAccessCopyWriter;
+import uk.gov.hmcts.reform.amlib.internal.repositories.QueryMonitor;
+import uk.gov.hmcts.reform.amlib.internal.utils.BatchingIterator;
+import uk.gov.hmcts.reform.amlib.internal.utils.FlightRecorderEvent;
 import uk.gov.hmcts.reform.amlib.internal.utils.SecurityClassifications;
+import uk.gov.hmcts.reform.amlib.internal.utils.Validators;
+import uk.gov.hmcts.reform.amlib.metrics.MetricsRecorders;
 import uk.gov.hmcts.reform.amlib.models.AccessEnvelope;
 import uk.gov.hmcts.reform.amlib.models.AttributeAccessDefinition;
+import uk.gov.hmcts.reform.amlib.models.CacheStatistics;
 import uk.gov.hmcts.reform.amlib.models.ExplicitAccessGrant;
 import uk.gov.hmcts.reform.amlib.models.ExplicitAccessMetadata;
 import uk.gov.hmcts.reform.amlib.models.FilteredResourceEnvelope;
+import uk.gov.hmcts.reform.amlib.models.QueryStatistics;
 import uk.gov.hmcts.reform.amlib.models.Resource;
+import uk.gov.hmcts.reform.amlib.models.ResourceAccessEnvelope;
 import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
 import uk.gov.hmcts.reform.amlib.models.RolePermissions;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.stream.Collector;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 import javax.validation.Valid;
@@ -47,14 +77,43 @@ import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 import static uk.gov.hmcts.reform.amlib.enums.AccessType.EXPLICIT;
 import static uk.gov.hmcts.reform.amlib.enums.AccessType.ROLE_BASED;
-
-@SuppressWarnings("PMD.ExcessiveImports")
+import static uk.gov.hmcts.reform.amlib.internal.utils.FlightRecorderEventType.FILTER_RESOURCE;
+import static uk.gov.hmcts.reform.amlib.internal.utils.FlightRecorderEventType.FILTER_RESOURCES;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.ACCESS_COUNTER;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.EXPLICIT_LOOKUP_PHASE;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.NO_ACCESS;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.PHASE_TIMER;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.ROLE_LOOKUP_PHASE;
+
+@SuppressWarnings({
+    "PMD.ExcessiveImports",
+    "PMD.TooManyMethods" // Service is the entry point of the library and it makes sense to have all these methods here
+})
 public class AccessManagementService {
 
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+        .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    /**
+     * Maximum number of records sent to the database in a single batch when explicit access is granted.
+     */
+    static final int GRANT_BATCH_SIZE = 500;
+
+    /**
+     * Number of resources for which access is resolved together when stream of resources is filtered.
+     */
+    static final int FILTER_BATCH_SIZE = 100;
+
     private final FilterService filterService = new FilterService();
     private final PermissionsService permissionsService = new PermissionsService();
+    private final RoleCache roleCache = new RoleCache();
+    private final DefaultPermissionsCache defaultPermissionsCache = new DefaultPermissionsCache();
+    private final QueryMonitor queryMonitor = new QueryMonitor();
 
     private final Jdbi jdbi;
+    private final ForkJoinPool filteringPool;
+    private final int parallelFilteringThreshold;
 
     /**
      * This constructor has issues with performance due to requiring a new connection for every query.
@@ -64,8 +123,7 @@ public class AccessManagementService {
      * @param password the password for the database
      */
     public AccessManagementService(String url, String username, String password) {
-        this.jdbi = Jdbi.create(url, username, password)
-            .installPlugin(new SqlObjectPlugin());
+        this(Jdbi.create(url, username, password), null, Integer.MAX_VALUE);
     }
 
     /**
@@ -74,8 +132,32 @@ public class AccessManagementService {
      * @param dataSource the datasource for the database
      */
     public AccessManagementService(DataSource dataSource) {
-        this.jdbi = Jdbi.create(dataSource)
-            .installPlugin(new SqlObjectPlugin());
+        this(Jdbi.create(dataSource), null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates service filtering large lists of resources in parallel. Once access to resources is resolved, resource
+     * data of lists having at least given number of resources is filtered by tasks run in provided pool, while
+     * smaller lists are filtered sequentially by calling thread as splitting them costs more than it saves.
+     *
+     * <p>Pool is not shut down by the service. Dedicated pool should be provided rather than common pool so that
+     * filtering does not compete with other parallel streams of the application.
+     *
+     * @param dataSource                 the datasource for the database
+     * @param filteringPool              the pool resource data is filtered in
+     * @param parallelFilteringThreshold minimum number of resources filtered in parallel
+     */
+    public AccessManagementService(DataSource dataSource,
+                                   ForkJoinPool filteringPool,
+                                   int parallelFilteringThreshold) {
+        this(Jdbi.create(dataSource), Objects.requireNonNull(filteringPool), parallelFilteringThreshold);
+    }
+
+    private AccessManagementService(Jdbi jdbi, ForkJoinPool filteringPool, int parallelFilteringThreshold) {
+        this.jdbi = jdbi.installPlugin(new SqlObjectPlugin())
+            .setSqlLogger(queryMonitor);
+        this.filteringPool = filteringPool;
+        this.parallelFilteringThreshold = parallelFilteringThreshold;
     }
 
     /**
@@ -92,25 +174,66 @@ public class AccessManagementService {
         + "{{accessGrant.resourceDefinition.resourceName}}' for accessors '{{accessGrant.accessorIds}}' "
         + "with relationship '{{accessGrant.relationship}}': {{accessGrant.attributePermissions}}")
     public void grantExplicitResourceAccess(@NotNull @Valid ExplicitAccessGrant accessGrant) {
-        jdbi.useTransaction(handle -> {
+        List<ExplicitAccessRecord> explicitAccessRecords = toExplicitAccessRecords(accessGrant).collect(toList());
+
+        jdbi.useTransaction(handle -> handle.attach(AccessManagementRepository.class)
+            .createAccessManagementRecords(explicitAccessRecords, GRANT_BATCH_SIZE));
+    }
+
+    /**
+     * Grants explicit access described by many grants at once. Records are streamed to the database with
+     * PostgreSQL COPY into a staging table and then merged into explicit access records with a single statement,
+     * which is much faster than granting access one grant at a time. Intended for data migrations and mass
+     * reassignments of access.
+     *
+     * <p>Operation is performed in a transaction so that if not all records can be created then whole grant will fail.
+     * Grants are validated as they are consumed from the stream; an invalid grant fails the whole operation.
+     *
+     * @param accessGrants stream of objects that describe explicit access to resources; stream is consumed but not
+     *                     closed
+     * @return number of explicit access records inserted or updated
+     * @throws PersistenceException if any persistence errors were encountered causing transaction rollback
+     */
+    @AuditLog("explicit access granted in bulk by '{{mdc:caller}}': {{result}} records inserted or updated")
+    public int bulkGrantExplicitResourceAccess(@NotNull Stream<ExplicitAccessGrant> accessGrants) {
+        Iterator<ExplicitAccessRecord> explicitAccessRecords = accessGrants
+            .peek(Validators::validate)
+            .flatMap(this::toExplicitAccessRecords)
+            .iterator();
+
+        return jdbi.inTransaction(handle -> {
             AccessManagementRepository dao = handle.attach(AccessManagementRepository.class);
-            accessGrant.getAccessorIds().forEach(accessorIds ->
-                accessGrant.getAttributePermissions().entrySet().stream().map(attributePermission ->
-                    ExplicitAccessRecord.builder()
-                        .resourceId(accessGrant.getResourceId())
-                        .accessorId(accessorIds)
-                        .permissions(attributePermission.getValue())
-                        .accessorType(accessGrant.getAccessorType())
-                        .serviceName(accessGrant.getResourceDefinition().getServiceName())
-                        .resourceType(accessGrant.getResourceDefinition().getResourceType())
-                        .resourceName(accessGrant.getResourceDefinition().getResourceName())
-                        .attribute(attributePermission.getKey())
-                        .relationship(accessGrant.getRelationship())
-                        .build())
-                    .forEach(dao::createAccessManagementRecord));
+            dao.createExplicitAccessStagingTable();
+            copyExplicitAccessRecords(handle, explicitAccessRecords);
+            return dao.mergeExplicitAccessStagingTable();
         });
     }
 
+    private Stream<ExplicitAccessRecord> toExplicitAccessRecords(ExplicitAccessGrant accessGrant) {
+        return accessGrant.getAccessorIds().stream()
+            .flatMap(accessorId -> accessGrant.getAttributePermissions().entrySet().stream()
+                .map(attributePermission -> ExplicitAccessRecord.builder()
+                    .resourceId(accessGrant.getResourceId())
+                    .accessorId(accessorId)
+                    .permissions(attributePermission.getValue())
+                    .accessorType(accessGrant.getAccessorType())
+                    .serviceName(accessGrant.getResourceDefinition().getServiceName())
+                    .resourceType(accessGrant.getResourceDefinition().getResourceType())
+                    .resourceName(accessGrant.getResourceDefinition().getResourceName())
+                    .attribute(attributePermission.getKey())
+                    .relationship(accessGrant.getRelationship())
+                    .build()));
+    }
+
+    private void copyExplicitAccessRecords(Handle handle, Iterator<ExplicitAccessRecord> explicitAccessRecords) {
+        try {
+            ExplicitAccessCopyWriter.copy(handle.getConnection().unwrap(PGConnection.class).getCopyAPI(),
+                explicitAccessRecords);
+        } catch (SQLException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
     /**
      * Removes explicit access to resource accordingly to record configuration.
      *
@@ -133,6 +256,9 @@ public class AccessManagementService {
      * Filters a list of {@link JsonNode} to remove fields that user has no access to (no READ permission) and returns
      * an envelope response consisting of id, filtered json and permissions for attributes.
      *
+     * <p>Resource data is filtered in parallel when service was created with filtering pool and list is large enough.
+     * Access to every resource is audited separately, as if resources were filtered one by one.
+     *
      * @param userId    accessor ID
      * @param userRoles accessor roles
      * @param resources envelope {@link Resource} and corresponding metadata
@@ -140,12 +266,64 @@ public class AccessManagementService {
      *     if access to resource is configured, otherwise null
      * @throws PersistenceException if any persistence errors were encountered
      */
+    @AuditLog(value = "filtered access to resource '{{resources.id}}' defined as "
+        + "'{{resources.definition.serviceName}}|{{resources.definition.resourceType}}|"
+        + "{{resources.definition.resourceName}}' for accessor '{{userId}}' in roles '{{userRoles}}': "
+        + "{{result.access.accessType}} access with relationships {{result.relationships}} "
+        + "and permissions {{result.access.permissions}}", forEachElementOf = "resources")
     public List<FilteredResourceEnvelope> filterResource(@NotBlank String userId,
                                                          @NotEmpty Set<@NotBlank String> userRoles,
                                                          @NotNull List<@NotNull @Valid Resource> resources) {
-        return resources.stream()
-            .map(resource -> filterResource(userId, userRoles, resource))
-            .collect(toList());
+        if (resources.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        FlightRecorderEvent event = FILTER_RESOURCES.begin();
+        List<ResourceAccessEnvelope> resourceAccess = jdbi.withExtension(AccessManagementRepository.class,
+            dao -> resolveAccess(dao, userId, userRoles, resources));
+
+        List<FilteredResourceEnvelope> filteredResources;
+        if (filteringPool != null && resources.size() >= parallelFilteringThreshold) {
+            filteredResources = filteringPool.submit(() -> IntStream.range(0, resources.size()).parallel()
+                .mapToObj(i -> createFilteredResourceEnvelope(resources.get(i), resourceAccess.get(i)))
+                .collect(toList()))
+                .join();
+        } else {
+            filteredResources = new ArrayList<>(resources.size());
+            for (int i = 0; i < resources.size(); i++) {
+                filteredResources.add(createFilteredResourceEnvelope(resources.get(i), resourceAccess.get(i)));
+            }
+        }
+
+        if (event.isEnabled()) {
+            event.commit(resources.size(), (int) resourceAccess.stream().filter(Objects::nonNull).count());
+        }
+        return filteredResources;
+    }
+
+    /**
+     * Filters a stream of resources lazily, which keeps memory usage flat regardless of number of resources e.g. when
+     * resources are exported. Resources are consumed from the stream in batches of {@value #FILTER_BATCH_SIZE} as
+     * returned stream is consumed, and every batch is filtered and audited as by
+     * {@link #filterResource(String, Set, List)}.
+     *
+     * <p>Resources are validated and persistence errors are thrown when batch they belong to is filtered, that is
+     * while returned stream is consumed. Closing returned stream closes stream of resources.
+     *
+     * @param userId    accessor ID
+     * @param userRoles accessor roles
+     * @param resources stream of envelopes {@link Resource} and corresponding metadata
+     * @return stream of {@link FilteredResourceEnvelope} with resource ID, filtered JSON and map of permissions, in
+     *     order of resources, containing null for resources with no access configured
+     */
+    public Stream<FilteredResourceEnvelope> filterResource(@NotBlank String userId,
+                                                           @NotEmpty Set<@NotBlank String> userRoles,
+                                                           @NotNull Stream<Resource> resources) {
+        Iterator<List<Resource>> batches = new BatchingIterator<>(resources.iterator(), FILTER_BATCH_SIZE);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+            .flatMap(batch -> filterResource(userId, userRoles, batch).stream())
+            .onClose(resources::close);
     }
 
     /**
@@ -166,44 +344,154 @@ public class AccessManagementService {
     public FilteredResourceEnvelope filterResource(@NotBlank String userId,
                                                    @NotEmpty Set<@NotBlank String> userRoles,
                                                    @NotNull @Valid Resource resource) {
-        List<ExplicitAccessRecord> explicitAccess = jdbi.withExtension(AccessManagementRepository.class,
-            dao -> dao.getExplicitAccess(userId, resource.getId()));
+        FlightRecorderEvent event = FILTER_RESOURCE.begin();
+        ResourceAccessEnvelope resourceAccess = resolveAccess(userId, userRoles, resource.getId(),
+            resource.getDefinition());
 
-        Map<JsonPointer, Set<Permission>> attributePermissions;
-        AccessType accessType;
-
-        if (explicitAccess.isEmpty()) {
-            Set<String> filteredRoles = filterRolesWithExplicitAccessType(userRoles);
+        FilteredResourceEnvelope filteredResource = createFilteredResourceEnvelope(resource, resourceAccess);
+        commitFilterResourceEvent(event, resource.getDefinition(), resourceAccess);
+        return filteredResource;
+    }
 
-            if (Objects.requireNonNull(filteredRoles).isEmpty()) {
-                return null;
+    /**
+     * Filters JSON resource read from input stream to remove fields that user has no access to (no READ permission)
+     * and writes the result to output stream. Unlike {@link #filterResource(String, Set, Resource)} resource is
+     * filtered in a single pass over its content, without building tree representation of JSON in memory.
+     *
+     * <p>Streams are neither closed nor read or written when access to resource is not configured. JSON null is
+     * written when access is configured but user has no READ permission to any attribute.
+     *
+     * @param userId               accessor ID
+     * @param userRoles            accessor roles
+     * @param resourceId           resource ID
+     * @param resourceDefinition   {@link ResourceDefinition} a unique service name, resource type and resource name
+     * @param resourceData         stream of UTF-8 encoded JSON resource
+     * @param filteredResourceData stream filtered JSON resource is written to
+     * @return envelope {@link ResourceAccessEnvelope} with resource ID and map of permissions if access to resource
+     *     is configured, otherwise null.
+     * @throws PersistenceException if any persistence errors were encountered
+     * @throws IOException          if resource cannot be read or written
+     */
+    @AuditLog("filtered access to resource '{{resourceId}}' defined as '{{resourceDefinition.serviceName}}|"
+        + "{{resourceDefinition.resourceType}}|{{resourceDefinition.resourceName}}' for accessor '{{userId}}' "
+        + "in roles '{{userRoles}}': {{result.access.accessType}} access with relationships {{result.relationships}} "
+        + "and permissions {{result.access.permissions}}")
+    public ResourceAccessEnvelope filterResource(@NotBlank String userId,
+                                                 @NotEmpty Set<@NotBlank String> userRoles,
+                                                 @NotBlank String resourceId,
+                                                 @NotNull @Valid ResourceDefinition resourceDefinition,
+                                                 @NotNull InputStream resourceData,
+                                                 @NotNull OutputStream filteredResourceData) throws IOException {
+        FlightRecorderEvent event = FILTER_RESOURCE.begin();
+        ResourceAccessEnvelope resourceAccess = resolveAccess(userId, userRoles, resourceId, resourceDefinition);
+
+        if (resourceAccess != null) {
+            try (JsonParser parser = JSON_FACTORY.createParser(resourceData);
+                 JsonGenerator generator = JSON_FACTORY.createGenerator(filteredResourceData)) {
+                filterService.filterJson(parser, generator, resourceAccess.getAccess().getPermissions());
             }
+        }
 
-            attributePermissions = getPermissionsToResourceForRoles(resource.getDefinition(), filteredRoles);
-
-            if (attributePermissions == null) {
-                return null;
-            }
+        commitFilterResourceEvent(event, resourceDefinition, resourceAccess);
+        return resourceAccess;
+    }
 
-            accessType = ROLE_BASED;
+    /**
+     * Returns permissions that user has to resource, along with type of access and relationships it was granted
+     * with, without requiring resource data. Access is resolved the same way as by
+     * {@link #filterResource(String, Set, Resource)}, which is preferable only when resource data needs filtering.
+     *
+     * @param userId             accessor ID
+     * @param userRoles          accessor roles
+     * @param resourceId         resource ID
+     * @param resourceDefinition {@link ResourceDefinition} a unique service name, resource type and resource name
+     * @return envelope {@link ResourceAccessEnvelope} with resource ID and map of permissions if access to resource
+     *     is configured, otherwise null.
+     * @throws PersistenceException if any persistence errors were encountered
+     */
+    @AuditLog("resolved access to resource '{{resourceId}}' defined as '{{resourceDefinition.serviceName}}|"
+        + "{{resourceDefinition.resourceType}}|{{resourceDefinition.resourceName}}' for accessor '{{userId}}' in roles "
+        + "'{{userRoles}}': {{result.access.accessType}} access with relationships {{result.relationships}} and "
+        + "permissions {{result.access.permissions}}")
+    public ResourceAccessEnvelope getResourceAccess(@NotBlank String userId,
+                                                    @NotEmpty Set<@NotBlank String> userRoles,
+                                                    @NotBlank String resourceId,
+                                                    @NotNull @Valid ResourceDefinition resourceDefinition) {
+        return resolveAccess(userId, userRoles, resourceId, resourceDefinition);
+    }
 
-        } else {
-            List<Map<JsonPointer, Set<Permission>>> permissionsForRelationships = explicitAccess.stream()
-                .collect(collectingAndThen(groupingBy(ExplicitAccessRecord::getRelationship), Map::values))
-                .stream()
-                .map(explicitAccessRecords -> explicitAccessRecords.stream()
-                    .collect(getMapCollector()))
-                .collect(toList());
+    /**
+     * Checks whether user has permission to attribute of resource without filtering resource. Access is resolved
+     * the same way as by {@link #filterResource(String, Set, Resource)}, and attribute that has no permissions
+     * configured inherits permissions of its closest ancestor.
+     *
+     * @param userId             accessor ID
+     * @param userRoles          accessor roles
+     * @param resourceDefinition {@link ResourceDefinition} a unique service name, resource type and resource name
+     * @param resourceId         resource ID
+     * @param attribute          attribute of resource
+     * @param permission         permission to check
+     * @return true if access to resource is configured and grants permission to attribute, otherwise false
+     * @throws PersistenceException if any persistence errors were encountered
+     */
+    @AuditLog("checked {{permission}} permission to attribute '{{attribute}}' of resource '{{resourceId}}' defined as "
+        + "'{{resourceDefinition.serviceName}}|{{resourceDefinition.resourceType}}|"
+        + "{{resourceDefinition.resourceName}}' for accessor '{{userId}}' in roles '{{userRoles}}': {{result}}")
+    public boolean hasPermission(@NotBlank String userId,
+                                 @NotEmpty Set<@NotBlank String> userRoles,
+                                 @NotNull @Valid ResourceDefinition resourceDefinition,
+                                 @NotBlank String resourceId,
+                                 @NotNull JsonPointer attribute,
+                                 @NotNull Permission permission) {
+        ResourceAccessEnvelope resourceAccess = resolveAccess(userId, userRoles, resourceId, resourceDefinition);
+
+        return resourceAccess != null && permissionsService
+            .getPermissions(resourceAccess.getAccess().getPermissions(), attribute)
+            .contains(permission);
+    }
 
-            attributePermissions = permissionsService.merge(permissionsForRelationships);
-            accessType = EXPLICIT;
+    /**
+     * Checks whether user has permission to many attributes of resource at once, resolving access to resource once.
+     *
+     * @param userId             accessor ID
+     * @param userRoles          accessor roles
+     * @param resourceDefinition {@link ResourceDefinition} a unique service name, resource type and resource name
+     * @param resourceId         resource ID
+     * @param attributes         attributes of resource
+     * @param permission         permission to check
+     * @return map telling for every attribute whether permission is granted to it
+     * @throws PersistenceException if any persistence errors were encountered
+     * @see #hasPermission(String, Set, ResourceDefinition, String, JsonPointer, Permission)
+     */
+    @AuditLog("checked {{permission}} permission to attributes '{{attributes}}' of resource '{{resourceId}}' "
+        + "defined as '{{resourceDefinition.serviceName}}|{{resourceDefinition.resourceType}}|"
+        + "{{resourceDefinition.resourceName}}' for accessor '{{userId}}' in roles '{{userRoles}}': {{result}}")
+    @SuppressWarnings("PMD.UseConcurrentHashMap") // Map is populated by a single thread
+    public Map<JsonPointer, Boolean> checkPermission(@NotBlank String userId,
+                                                     @NotEmpty Set<@NotBlank String> userRoles,
+                                                     @NotNull @Valid ResourceDefinition resourceDefinition,
+                                                     @NotBlank String resourceId,
+                                                     @NotNull Set<@NotNull JsonPointer> attributes,
+                                                     @NotNull Permission permission) {
+        ResourceAccessEnvelope resourceAccess = resolveAccess(userId, userRoles, resourceId, resourceDefinition);
+
+        Map<JsonPointer, Boolean> result = new HashMap<>();
+        for (JsonPointer attribute : attributes) {
+            result.put(attribute, resourceAccess != null && permissionsService
+                .getPermissions(resourceAccess.getAccess().getPermissions(), attribute)
+                .contains(permission));
         }
+        return result;
+    }
 
-        JsonNode filteredJson = filterService.filterJson(resource.getData(), attributePermissions);
+    private FilteredResourceEnvelope createFilteredResourceEnvelope(Resource resource,
+                                                                    ResourceAccessEnvelope resourceAccess) {
+        if (resourceAccess == null) {
+            return null;
+        }
 
-        Set<String> relationships = explicitAccess.stream()
-            .map(ExplicitAccessRecord::getRelationship)
-            .collect(toSet());
+        JsonNode filteredJson = filterService.filterJson(resource.getData(),
+            resourceAccess.getAccess().getPermissions());
 
         return FilteredResourceEnvelope.builder()
             .resource(Resource.builder()
@@ -211,39 +499,218 @@ public class AccessManagementService {
                 .definition(resource.getDefinition())
                 .data(filteredJson)
                 .build())
+            .access(resourceAccess.getAccess())
+            .relationships(resourceAccess.getRelationships())
+            .build();
+    }
+
+    private ResourceAccessEnvelope resolveAccess(String userId,
+                                                 Set<String> userRoles,
+                                                 String resourceId,
+                                                 ResourceDefinition resourceDefinition) {
+        ResourceAccessEnvelope resourceAccess = jdbi.withExtension(AccessManagementRepository.class, dao -> {
+            long start = System.nanoTime();
+            List<ExplicitAccessRecord> explicitAccess = dao.getExplicitAccess(userId, resourceId);
+            recordPhase(EXPLICIT_LOOKUP_PHASE, start);
+
+            if (!explicitAccess.isEmpty()) {
+                return createExplicitAccessEnvelope(resourceId, explicitAccess);
+            }
+
+            start = System.nanoTime();
+            Set<String> filteredRoles = filterRolesWithExplicitAccessType(dao, userRoles);
+
+            if (Objects.requireNonNull(filteredRoles).isEmpty()) {
+                recordPhase(ROLE_LOOKUP_PHASE, start);
+                return null;
+            }
+
+            List<Map<JsonPointer, Set<Permission>>> permissionsForRoles =
+                getPermissionsForRoles(dao, resourceDefinition, filteredRoles);
+            recordPhase(ROLE_LOOKUP_PHASE, start);
+
+            return createRoleBasedAccessEnvelope(resourceId, mergePermissions(permissionsForRoles));
+        });
+
+        recordAccess(resourceAccess);
+        return resourceAccess;
+    }
+
+    /**
+     * Resolves access to many resources at once. Explicit access is fetched for all resources in a single query while
+     * role based access is resolved once per distinct resource definition of resources without explicit access.
+     *
+     * @return list of access envelopes in order of resources, containing null for resources with no access configured
+     */
+    private List<ResourceAccessEnvelope> resolveAccess(AccessManagementRepository dao,
+                                                       String userId,
+                                                       Set<String> userRoles,
+                                                       List<Resource> resources) {
+        Set<String> resourceIds = resources.stream()
+            .map(Resource::getId)
+            .collect(toSet());
+
+        long start = System.nanoTime();
+        Map<String, List<ExplicitAccessRecord>> explicitAccess = dao.getExplicitAccess(userId, resourceIds).stream()
+            .collect(groupingBy(ExplicitAccessRecord::getResourceId));
+        recordPhase(EXPLICIT_LOOKUP_PHASE, start);
+
+        Set<ResourceDefinition> roleBasedResourceDefinitions = resources.stream()
+            .filter(resource -> !explicitAccess.containsKey(resource.getId()))
+            .map(Resource::getDefinition)
+            .collect(toSet());
+
+        Map<ResourceDefinition, Map<JsonPointer, Set<Permission>>> roleBasedPermissions =
+            getPermissionsToResourcesForRoles(dao, roleBasedResourceDefinitions, userRoles);
+
+        List<ResourceAccessEnvelope> resourceAccess = resources.stream()
+            .map(resource -> explicitAccess.containsKey(resource.getId())
+                ? createExplicitAccessEnvelope(resource.getId(), explicitAccess.get(resource.getId()))
+                : createRoleBasedAccessEnvelope(resource.getId(), roleBasedPermissions.get(resource.getDefinition())))
+            .collect(toList());
+
+        resourceAccess.forEach(AccessManagementService::recordAccess);
+        return resourceAccess;
+    }
+
+    private ResourceAccessEnvelope createExplicitAccessEnvelope(String resourceId,
+                                                                List<ExplicitAccessRecord> explicitAccess) {
+        List<Map<JsonPointer, Set<Permission>>> permissionsForRelationships = explicitAccess.stream()
+            .collect(collectingAndThen(groupingBy(ExplicitAccessRecord::getRelationship), Map::values))
+            .stream()
+            .map(explicitAccessRecords -> explicitAccessRecords.stream()
+                .collect(getMapCollector()))
+            .collect(toList());
+
+        Set<String> relationships = explicitAccess.stream()
+            .map(ExplicitAccessRecord::getRelationship)
+            .collect(toSet());
+
+        return ResourceAccessEnvelope.builder()
+            .resourceId(resourceId)
             .access(AccessEnvelope.builder()
-                .permissions(attributePermissions)
-                .accessType(accessType)
+                .permissions(permissionsService.merge(permissionsForRelationships))
+                .accessType(EXPLICIT)
                 .build())
             .relationships(relationships)
             .build();
     }
 
-    private Set<String> filterRolesWithExplicitAccessType(Set<String> userRoles) {
+    private ResourceAccessEnvelope createRoleBasedAccessEnvelope(String resourceId,
+                                                                 Map<JsonPointer, Set<Permission>> permissions) {
+        if (permissions == null) {
+            return null;
+        }
+
+        return ResourceAccessEnvelope.builder()
+            .resourceId(resourceId)
+            .access(AccessEnvelope.builder()
+                .permissions(permissions)
+                .accessType(ROLE_BASED)
+                .build())
+            .relationships(Collections.emptySet())
+            .build();
+    }
+
+    private Set<String> filterRolesWithExplicitAccessType(AccessManagementRepository dao, Set<String> userRoles) {
         if (userRoles.isEmpty()) {
             return null;
         }
 
+        return getRoles(userRoles, Collections.singleton(ROLE_BASED), dao::getRoles).stream()
+            .map(Role::getRoleName)
+            .collect(toSet());
+    }
+
+    private Set<Role> getRoles(Set<String> roleNames,
+                               Set<AccessType> accessTypes,
+                               Function<Set<String>, Set<Role>> loader) {
+        return roleCache.getRoles(roleNames, loader).stream()
+            .filter(role -> accessTypes.contains(role.getAccessType()))
+            .collect(toSet());
+    }
+
+    private Set<Role> loadRoles(Set<String> roleNames) {
+        return jdbi.withExtension(AccessManagementRepository.class, dao -> dao.getRoles(roleNames));
+    }
+
+    private List<AttributeData> loadAttributeData(ResourceDefinition resourceDefinition) {
         return jdbi.withExtension(AccessManagementRepository.class,
-            dao -> dao.getRoles(userRoles, Collections.singleton(ROLE_BASED)).stream()
-                .map(Role::getRoleName)
-                .collect(toSet()));
+            dao -> dao.getAttributeDataForResource(resourceDefinition));
+    }
+
+    @SuppressWarnings("PMD.UseConcurrentHashMap") // Map is populated by a single thread
+    private Map<ResourceDefinition, Map<JsonPointer, Set<Permission>>> getPermissionsToResourcesForRoles(
+        AccessManagementRepository dao, Set<ResourceDefinition> resourceDefinitions, Set<String> userRoles) {
+
+        Map<ResourceDefinition, Map<JsonPointer, Set<Permission>>> permissions = new HashMap<>();
+        if (resourceDefinitions.isEmpty()) {
+            return permissions;
+        }
+
+        long start = System.nanoTime();
+        Set<String> filteredRoles = filterRolesWithExplicitAccessType(dao, userRoles);
+
+        if (Objects.requireNonNull(filteredRoles).isEmpty()) {
+            recordPhase(ROLE_LOOKUP_PHASE, start);
+            return permissions;
+        }
+
+        Map<ResourceDefinition, List<Map<JsonPointer, Set<Permission>>>> permissionsForRoles = new HashMap<>();
+        resourceDefinitions.forEach(resourceDefinition -> permissionsForRoles.put(resourceDefinition,
+            getPermissionsForRoles(dao, resourceDefinition, filteredRoles)));
+        recordPhase(ROLE_LOOKUP_PHASE, start);
+
+        permissionsForRoles.forEach((resourceDefinition, permissionsToMerge) -> {
+            Map<JsonPointer, Set<Permission>> permissionsToResource = mergePermissions(permissionsToMerge);
+            if (permissionsToResource != null) {
+                permissions.put(resourceDefinition, permissionsToResource);
+            }
+        });
+        return permissions;
     }
 
-    private Map<JsonPointer, Set<Permission>> getPermissionsToResourceForRoles(ResourceDefinition resourceDefinition,
-                                                                               Set<String> userRoles) {
-        List<Map<JsonPointer, Set<Permission>>> permissionsForRoles =
-            jdbi.withExtension(AccessManagementRepository.class, dao -> userRoles.stream()
-                .map(role -> dao.getRolePermissions(resourceDefinition, role))
-                .map(roleBasedAccessRecords -> roleBasedAccessRecords.stream()
-                    .collect(getMapCollector()))
-                .collect(toList()));
+    /**
+     * Returns default permissions to resource of every role that has any.
+     */
+    private List<Map<JsonPointer, Set<Permission>>> getPermissionsForRoles(AccessManagementRepository dao,
+                                                                          ResourceDefinition resourceDefinition,
+                                                                          Set<String> userRoles) {
+        DefaultPermissionsSnapshot defaultPermissions =
+            defaultPermissionsCache.getSnapshot(resourceDefinition, dao::getAttributeDataForResource);
+
+        return userRoles.stream()
+            .map(defaultPermissions::getPermissions)
+            .filter(permissions -> !permissions.isEmpty())
+            .collect(toList());
+    }
 
-        if (permissionsForRoles.stream().allMatch(Map::isEmpty)) {
+    private Map<JsonPointer, Set<Permission>> mergePermissions(List<Map<JsonPointer, Set<Permission>>> permissions) {
+        if (permissions.isEmpty()) {
             return null;
         }
 
-        return permissionsService.merge(permissionsForRoles);
+        return permissionsService.merge(permissions);
+    }
+
+    private static void recordPhase(String phase, long start) {
+        MetricsRecorders.getRecorder().recordTime(PHASE_TIMER, phase, System.nanoTime() - start);
+    }
+
+    private static void commitFilterResourceEvent(FlightRecorderEvent event,
+                                                  ResourceDefinition resourceDefinition,
+                                                  ResourceAccessEnvelope resourceAccess) {
+        if (event.isEnabled()) {
+            event.commit(resourceDefinition.getServiceName(), resourceDefinition.getResourceType(),
+                resourceDefinition.getResourceName(),
+                resourceAccess == null ? NO_ACCESS : resourceAccess.getAccess().getAccessType().name(),
+                resourceAccess == null ? 0 : resourceAccess.getAccess().getPermissions().size());
+        }
+    }
+
+    private static void recordAccess(ResourceAccessEnvelope resourceAccess) {
+        MetricsRecorders.getRecorder().increment(ACCESS_COUNTER,
+            resourceAccess == null ? NO_ACCESS : resourceAccess.getAccess().getAccessType().name());
     }
 
     /**
@@ -261,8 +728,8 @@ public class AccessManagementService {
         + "'{{result.roleSecurityClassification}}'")
     public RolePermissions getRolePermissions(@NotNull @Valid ResourceDefinition resourceDefinition,
                                               @NotBlank String roleName) {
-        Map<AccessType, SecurityClassification> roleData = jdbi.withExtension(AccessManagementRepository.class, dao ->
-            dao.getRoles(Collections.singleton(roleName), Stream.of(EXPLICIT, ROLE_BASED).collect(toSet()))).stream()
+        Map<AccessType, SecurityClassification> roleData = getRoles(Collections.singleton(roleName),
+            Stream.of(EXPLICIT, ROLE_BASED).collect(toSet()), this::loadRoles).stream()
             .collect(toMap(Role::getAccessType, Role::getSecurityClassification));
 
         if (roleData.isEmpty()) {
@@ -271,9 +738,13 @@ public class AccessManagementService {
 
         SecurityClassification roleSecurityClassification = roleData.entrySet().iterator().next().getValue();
 
-        List<AttributeData> attributeData = jdbi.withExtension(AccessManagementRepository.class, dao ->
-            dao.getAttributeDataForResource(resourceDefinition, roleName,
-                SecurityClassifications.getVisibleSecurityClassifications(roleSecurityClassification.getHierarchy())));
+        Set<SecurityClassification> visibleSecurityClassifications =
+            SecurityClassifications.getVisibleSecurityClassifications(roleSecurityClassification.getHierarchy());
+
+        List<AttributeData> attributeData = defaultPermissionsCache.getSnapshot(resourceDefinition,
+            this::loadAttributeData).getAttributeData(roleName).stream()
+            .filter(data -> visibleSecurityClassifications.contains(data.getDefaultSecurityClassification()))
+            .collect(toList());
 
         if (attributeData.isEmpty()) {
             return null;
@@ -298,18 +769,47 @@ public class AccessManagementService {
     @SuppressWarnings("LineLength")
     @AuditLog("returned resources that user with roles '{{userRoles}}' has create permission to: {{result}}")
     public Set<ResourceDefinition> getResourceDefinitionsWithRootCreatePermission(@NotEmpty Set<@NotBlank String> userRoles) {
-        Integer maxSecurityClassificationForRole = jdbi.withExtension(AccessManagementRepository.class, dao ->
-            dao.getRoles(userRoles, Stream.of(EXPLICIT, ROLE_BASED).collect(toSet()))
+        Integer maxSecurityClassificationForRole =
+            getRoles(userRoles, Stream.of(EXPLICIT, ROLE_BASED).collect(toSet()), this::loadRoles)
                 .stream()
                 .mapToInt(role -> role.getSecurityClassification().getHierarchy())
                 .max()
-                .orElseThrow(NoSuchElementException::new));
+                .orElseThrow(NoSuchElementException::new);
 
         return jdbi.withExtension(AccessManagementRepository.class, dao ->
             dao.getResourceDefinitionsWithRootCreatePermission(
                 userRoles, SecurityClassifications.getVisibleSecurityClassifications(maxSecurityClassificationForRole)));
     }
 
+    /**
+     * Returns statistics of cache holding role metadata used to resolve role based access.
+     *
+     * @return hit and miss counts and the number of currently cached roles
+     */
+    public CacheStatistics getRoleCacheStatistics() {
+        return roleCache.getStatistics();
+    }
+
+    /**
+     * Returns statistics of cache holding default permissions snapshots used to resolve role based access.
+     *
+     * @return hit and miss counts and the number of currently cached resource definitions
+     */
+    public CacheStatistics getDefaultPermissionsCacheStatistics() {
+        return defaultPermissionsCache.getStatistics();
+    }
+
+    /**
+     * Returns statistics of database statements executed by the service, such as latency histogram and number of
+     * executions slower than {@link QuerySettings#getSlowQueryThreshold()}.
+     *
+     * @return statistics by query name, which is repository and method name e.g.
+     *     {@code AccessManagementRepository.getExplicitAccess}
+     */
+    public Map<String, QueryStatistics> getQueryStatistics() {
+        return queryMonitor.getStatistics();
+    }
+
     private Collector<AttributeAccessDefinition, ?, Map<JsonPointer, Set<Permission>>> getMapCollector() {
         return toMap(AttributeAccessDefinition::getAttribute, AttributeAccessDefinition::getPermissions);
     }
@@ -0,0 +1,131 @@
+package uk.gov.hmcts.reform.amlib;
+
+import uk.gov.hmcts.reform.amlib.exceptions.PersistenceException;
+import uk.gov.hmcts.reform.amlib.models.ExplicitAccessGrant;
+import uk.gov.hmcts.reform.amlib.models.ExplicitAccessMetadata;
+import uk.gov.hmcts.reform.amlib.models.FilteredResourceEnvelope;
+import uk.gov.hmcts.reform.amlib.models.Resource;
+import uk.gov.hmcts.reform.amlib.models.ResourceAccessEnvelope;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+import uk.gov.hmcts.reform.amlib.models.RolePermissions;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Non-blocking facade of {@link AccessManagementService} running every operation on provided executor, so that
+ * callers do not block their own threads while waiting for the database and can compose many operations together.
+ *
+ * <p>Arguments are validated before operation is submitted, therefore invalid arguments are reported by throwing
+ * {@link IllegalArgumentException} rather than by returning failed future. Any other failure, including
+ * {@link PersistenceException}, completes returned future exceptionally. Operations are audited by the underlying
+ * service.
+ */
+public class AsyncAccessManagementService {
+
+    private final AccessManagementService service;
+    private final Executor executor;
+
+    /**
+     * Creates facade of service running operations on given executor. Executor should be sized accordingly to
+     * number of connections available to the service as operations spend most of their time waiting for database.
+     *
+     * @param service  the service operations are delegated to
+     * @param executor the executor operations are run on
+     */
+    public AsyncAccessManagementService(AccessManagementService service, Executor executor) {
+        this.service = Objects.requireNonNull(service);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Asynchronous variant of {@link AccessManagementService#grantExplicitResourceAccess(ExplicitAccessGrant)}.
+     *
+     * @param accessGrant an object that describes explicit access to resource
+     * @return future completed once access is granted
+     */
+    public CompletableFuture<Void> grantExplicitResourceAccess(@NotNull @Valid ExplicitAccessGrant accessGrant) {
+        return CompletableFuture.runAsync(() -> service.grantExplicitResourceAccess(accessGrant), executor);
+    }
+
+    /**
+     * Asynchronous variant of {@link AccessManagementService#revokeResourceAccess(ExplicitAccessMetadata)}.
+     *
+     * @param accessMetadata an object to remove a specific explicit access record
+     * @return future completed once access is revoked
+     */
+    public CompletableFuture<Void> revokeResourceAccess(@NotNull @Valid ExplicitAccessMetadata accessMetadata) {
+        return CompletableFuture.runAsync(() -> service.revokeResourceAccess(accessMetadata), executor);
+    }
+
+    /**
+     * Asynchronous variant of {@link AccessManagementService#filterResource(String, Set, Resource)}.
+     *
+     * @param userId    accessor ID
+     * @param userRoles accessor roles
+     * @param resource  envelope {@link Resource} and corresponding metadata
+     * @return future of {@link FilteredResourceEnvelope} with resource ID, filtered JSON and map of permissions if
+     *     access to resource is configured, otherwise future of null
+     */
+    public CompletableFuture<FilteredResourceEnvelope> filterResource(@NotBlank String userId,
+                                                                      @NotEmpty Set<@NotBlank String> userRoles,
+                                                                      @NotNull @Valid Resource resource) {
+        return CompletableFuture.supplyAsync(() -> service.filterResource(userId, userRoles, resource), executor);
+    }
+
+    /**
+     * Asynchronous variant of {@link AccessManagementService#filterResource(String, Set, List)}.
+     *
+     * @param userId    accessor ID
+     * @param userRoles accessor roles
+     * @param resources envelope {@link Resource} and corresponding metadata
+     * @return future of list of {@link FilteredResourceEnvelope} with resource ID, filtered JSON and map of
+     *     permissions if access to resource is configured, otherwise null
+     */
+    public CompletableFuture<List<FilteredResourceEnvelope>> filterResource(
+        @NotBlank String userId,
+        @NotEmpty Set<@NotBlank String> userRoles,
+        @NotNull List<@NotNull @Valid Resource> resources) {
+        return CompletableFuture.supplyAsync(() -> service.filterResource(userId, userRoles, resources), executor);
+    }
+
+    /**
+     * Asynchronous variant of {@link AccessManagementService#getResourceAccess(String, Set, String,
+     * ResourceDefinition)}.
+     *
+     * @param userId             accessor ID
+     * @param userRoles          accessor roles
+     * @param resourceId         resource ID
+     * @param resourceDefinition {@link ResourceDefinition} a unique service name, resource type and resource name
+     * @return future of {@link ResourceAccessEnvelope} with resource ID and map of permissions if access to resource
+     *     is configured, otherwise future of null
+     */
+    public CompletableFuture<ResourceAccessEnvelope> getResourceAccess(
+        @NotBlank String userId,
+        @NotEmpty Set<@NotBlank String> userRoles,
+        @NotBlank String resourceId,
+        @NotNull @Valid ResourceDefinition resourceDefinition) {
+        return CompletableFuture.supplyAsync(
+            () -> service.getResourceAccess(userId, userRoles, resourceId, resourceDefinition), executor);
+    }
+
+    /**
+     * Asynchronous variant of {@link AccessManagementService#getRolePermissions(ResourceDefinition, String)}.
+     *
+     * @param resourceDefinition {@link ResourceDefinition} a unique service name, resource type and resource name
+     * @param roleName           user role name
+     * @return future of {@link RolePermissions} a combination of permissions and security classifications for
+     *     a role name
+     */
+    public CompletableFuture<RolePermissions> getRolePermissions(@NotNull @Valid ResourceDefinition resourceDefinition,
+                                                                 @NotBlank String roleName) {
+        return CompletableFuture.supplyAsync(() -> service.getRolePermissions(resourceDefinition, roleName), executor);
+    }
+}
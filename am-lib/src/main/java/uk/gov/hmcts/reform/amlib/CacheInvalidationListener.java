@@ -0,0 +1,212 @@
+package uk.gov.hmcts.reform.amlib;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.JdbiException;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import uk.gov.hmcts.reform.amlib.internal.cache.DefaultPermissionsCache;
+import uk.gov.hmcts.reform.amlib.internal.cache.RoleCache;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Listens to cache invalidation notifications published by database triggers whenever cached data is modified
+ * and invalidates affected entries of all caches in the JVM. Running listener in every application instance makes
+ * changes made by any instance visible to all other instances immediately rather than after cache entries expire.
+ *
+ * <p>Listener holds a dedicated database connection while running. When connection is lost all caches are
+ * invalidated, as notifications might have been missed, and listener reconnects after a delay.
+ */
+@Slf4j
+@SuppressWarnings("PMD.DoNotUseThreads") // Listener requires a dedicated thread blocked on database connection
+public class CacheInvalidationListener implements AutoCloseable {
+
+    static final String CHANNEL = "am_cache_invalidation";
+
+    private static final String ROLES_TABLE = "roles";
+    private static final Set<String> DEFAULT_PERMISSIONS_TABLES =
+        Stream.of("default_permissions_for_roles", "resource_attributes").collect(toSet());
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Jdbi jdbi;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private Thread thread;
+
+    /**
+     * This constructor is convenient when there is no data source as listener opens just a single connection.
+     *
+     * @param url      the url for the database
+     * @param username the username for the database
+     * @param password the password for the database
+     */
+    public CacheInvalidationListener(String url, String username, String password) {
+        this.jdbi = Jdbi.create(url, username, password);
+    }
+
+    /**
+     * Creates listener borrowing connection from data source for as long as listener runs.
+     *
+     * @param dataSource the datasource for the database
+     */
+    public CacheInvalidationListener(DataSource dataSource) {
+        this.jdbi = Jdbi.create(dataSource);
+    }
+
+    /**
+     * Starts listening to notifications in a background daemon thread. Does nothing if listener is already running.
+     */
+    public void start() {
+        synchronized (this) {
+            if (running.getAndSet(true)) {
+                return;
+            }
+            thread = new Thread(this::listen, "am-cache-invalidation-listener");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops listening to notifications and releases database connection. Waits for listener thread to stop; when
+     * interrupted while waiting, returns with interrupt status of current thread set.
+     */
+    @Override
+    public void close() {
+        Thread listenerThread;
+        synchronized (this) {
+            if (!running.getAndSet(false)) {
+                return;
+            }
+            listenerThread = thread;
+        }
+        listenerThread.interrupt();
+        try {
+            listenerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running.get()) {
+            try (Handle handle = jdbi.open()) {
+                try {
+                    handle.execute("LISTEN " + CHANNEL);
+                    receiveNotifications(handle.getConnection().unwrap(PGConnection.class));
+                } finally {
+                    unlisten(handle);
+                }
+            } catch (SQLException | JdbiException e) {
+                if (running.get()) {
+                    log.warn("Cache invalidation listener lost database connection, reconnecting in "
+                        + RECONNECT_DELAY_MILLIS + " ms", e);
+                    invalidateAll();
+                    awaitReconnect();
+                }
+            }
+        }
+    }
+
+    private void receiveNotifications(PGConnection connection) throws SQLException {
+        // Notifications published before listening started have been missed
+        invalidateAll();
+
+        while (running.get()) {
+            PGNotification[] notifications = connection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    handleNotification(notification.getParameter());
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops listening before connection is released, as connection borrowed from a pool would otherwise keep
+     * receiving notifications that nobody reads.
+     */
+    private void unlisten(Handle handle) {
+        try {
+            handle.execute("UNLISTEN *");
+        } catch (JdbiException e) {
+            log.debug("> Cannot stop listening to cache invalidation notifications", e);
+        }
+    }
+
+    private void awaitReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Invalidates cache entries affected by change described in notification payload. Payload is a JSON object
+     * with name of modified table and key of modified row; whole cache is invalidated when key is missing.
+     *
+     * @param payload notification payload
+     */
+    void handleNotification(String payload) {
+        JsonNode notification;
+        try {
+            notification = mapper.readTree(payload);
+        } catch (IOException e) {
+            log.warn("Cannot parse cache invalidation notification: " + payload, e);
+            invalidateAll();
+            return;
+        }
+
+        log.debug("> Received cache invalidation notification: " + payload);
+        String table = notification.path("table").asText();
+        if (ROLES_TABLE.equals(table)) {
+            invalidateRoles(notification);
+        } else if (DEFAULT_PERMISSIONS_TABLES.contains(table)) {
+            invalidateDefaultPermissions(notification);
+        } else {
+            log.debug("> Ignoring cache invalidation notification for unknown table: " + table);
+        }
+    }
+
+    private void invalidateRoles(JsonNode notification) {
+        JsonNode roleName = notification.path("roleName");
+        if (roleName.isTextual()) {
+            RoleCache.invalidateAllInstances(roleName.asText());
+        } else {
+            RoleCache.invalidateAllInstances();
+        }
+    }
+
+    private void invalidateDefaultPermissions(JsonNode notification) {
+        if (notification.has("serviceName")) {
+            ResourceDefinition modifiedResourceDefinition = ResourceDefinition.builder()
+                .serviceName(notification.path("serviceName").asText())
+                .resourceType(notification.path("resourceType").asText())
+                .resourceName(notification.path("resourceName").asText())
+                .build();
+            DefaultPermissionsCache.invalidateAllInstances(modifiedResourceDefinition::equals);
+        } else {
+            DefaultPermissionsCache.invalidateAllInstances();
+        }
+    }
+
+    private void invalidateAll() {
+        RoleCache.invalidateAllInstances();
+        DefaultPermissionsCache.invalidateAllInstances();
+    }
+}
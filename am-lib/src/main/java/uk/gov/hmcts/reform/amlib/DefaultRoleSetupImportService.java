@@ -7,12 +7,17 @@ import uk.gov.hmcts.reform.amlib.enums.RoleType;
 import uk.gov.hmcts.reform.amlib.enums.SecurityClassification;
 import uk.gov.hmcts.reform.amlib.exceptions.PersistenceException;
 import uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog;
+import uk.gov.hmcts.reform.amlib.internal.cache.DefaultPermissionsCache;
+import uk.gov.hmcts.reform.amlib.internal.cache.RoleCache;
 import uk.gov.hmcts.reform.amlib.internal.models.ResourceAttribute;
 import uk.gov.hmcts.reform.amlib.internal.models.RoleBasedAccessRecord;
 import uk.gov.hmcts.reform.amlib.internal.repositories.DefaultRoleSetupRepository;
+import uk.gov.hmcts.reform.amlib.internal.repositories.QueryMonitor;
 import uk.gov.hmcts.reform.amlib.models.DefaultPermissionGrant;
+import uk.gov.hmcts.reform.amlib.models.QueryStatistics;
 import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
 
+import java.util.Map;
 import javax.sql.DataSource;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
@@ -21,6 +26,7 @@ import javax.validation.constraints.NotNull;
 import static uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog.Severity.DEBUG;
 
 public class DefaultRoleSetupImportService {
+    private final QueryMonitor queryMonitor = new QueryMonitor();
     private final Jdbi jdbi;
 
     /**
@@ -32,7 +38,8 @@ public class DefaultRoleSetupImportService {
      */
     public DefaultRoleSetupImportService(String url, String username, String password) {
         this.jdbi = Jdbi.create(url, username, password)
-            .installPlugin(new SqlObjectPlugin());
+            .installPlugin(new SqlObjectPlugin())
+            .setSqlLogger(queryMonitor);
     }
 
     /**
@@ -42,7 +49,8 @@ public class DefaultRoleSetupImportService {
      */
     public DefaultRoleSetupImportService(DataSource dataSource) {
         this.jdbi = Jdbi.create(dataSource)
-            .installPlugin(new SqlObjectPlugin());
+            .installPlugin(new SqlObjectPlugin())
+            .setSqlLogger(queryMonitor);
     }
 
     /**
@@ -84,6 +92,7 @@ public class DefaultRoleSetupImportService {
                         @NotNull AccessType accessType) {
         jdbi.useExtension(DefaultRoleSetupRepository.class,
             dao -> dao.addRole(roleName, roleType, securityClassification, accessType));
+        RoleCache.invalidateAllInstances();
     }
 
     /**
@@ -135,6 +144,7 @@ public class DefaultRoleSetupImportService {
                         .build());
             });
         });
+        DefaultPermissionsCache.invalidateAllInstances(accessGrant.getResourceDefinition()::equals);
     }
 
     /**
@@ -154,6 +164,9 @@ public class DefaultRoleSetupImportService {
             dao.deleteDefaultPermissionsForRoles(serviceName, resourceType);
             dao.deleteResourceAttributes(serviceName, resourceType);
         });
+        DefaultPermissionsCache.invalidateAllInstances(resourceDefinition ->
+            resourceDefinition.getServiceName().equals(serviceName)
+                && resourceDefinition.getResourceType().equals(resourceType));
     }
 
     /**
@@ -173,6 +186,7 @@ public class DefaultRoleSetupImportService {
             dao.deleteDefaultPermissionsForRoles(resourceDefinition);
             dao.deleteResourceAttributes(resourceDefinition);
         });
+        DefaultPermissionsCache.invalidateAllInstances(resourceDefinition::equals);
     }
 
     /**
@@ -197,6 +211,7 @@ public class DefaultRoleSetupImportService {
     @AuditLog(value = "deleted role '{{roleName}}'", severity = DEBUG)
     public void deleteRole(@NotBlank String roleName) {
         jdbi.useExtension(DefaultRoleSetupRepository.class, dao -> dao.deleteRole(roleName));
+        RoleCache.invalidateAllInstances();
     }
 
     /**
@@ -208,5 +223,18 @@ public class DefaultRoleSetupImportService {
     @AuditLog(value = "deleted service '{{serviceName}}'", severity = DEBUG)
     public void deleteService(@NotBlank String serviceName) {
         jdbi.useExtension(DefaultRoleSetupRepository.class, dao -> dao.deleteService(serviceName));
+        DefaultPermissionsCache.invalidateAllInstances(resourceDefinition ->
+            resourceDefinition.getServiceName().equals(serviceName));
+    }
+
+    /**
+     * Returns statistics of database statements executed by the service, such as latency histogram and number of
+     * executions slower than {@link QuerySettings#getSlowQueryThreshold()}.
+     *
+     * @return statistics by query name, which is repository and method name e.g.
+     *     {@code DefaultRoleSetupRepository.deleteResourceDefinition}
+     */
+    public Map<String, QueryStatistics> getQueryStatistics() {
+        return queryMonitor.getStatistics();
     }
 }
@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.amlib;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds threshold above which queries run by all services of the library in the JVM are logged as slow.
+ */
+public final class QuerySettings {
+
+    private static final AtomicReference<Duration> SLOW_QUERY_THRESHOLD = new AtomicReference<>(Duration.ofMillis(500));
+
+    private QuerySettings() {
+        throw new UnsupportedOperationException("Constructing utility class is not supported");
+    }
+
+    /**
+     * Returns threshold above which queries are logged as slow, 500 milliseconds by default.
+     *
+     * @return slow query threshold
+     */
+    public static Duration getSlowQueryThreshold() {
+        return SLOW_QUERY_THRESHOLD.get();
+    }
+
+    /**
+     * Replaces threshold above which queries are logged as slow.
+     *
+     * @param slowQueryThreshold slow query threshold
+     */
+    public static void setSlowQueryThreshold(Duration slowQueryThreshold) {
+        SLOW_QUERY_THRESHOLD.set(Objects.requireNonNull(slowQueryThreshold));
+    }
+}
@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.amlib;
+
+import uk.gov.hmcts.reform.amlib.enums.ValidationMode;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds validation mode used by all services of the library in the JVM.
+ */
+public final class ValidationSettings {
+
+    private static final AtomicReference<ValidationMode> MODE = new AtomicReference<>(ValidationMode.FULL);
+
+    private ValidationSettings() {
+        throw new UnsupportedOperationException("Constructing utility class is not supported");
+    }
+
+    /**
+     * Returns validation mode currently used by the library.
+     *
+     * @return validation mode
+     */
+    public static ValidationMode getMode() {
+        return MODE.get();
+    }
+
+    /**
+     * Replaces validation mode used by the library.
+     *
+     * @param validationMode validation mode to use
+     */
+    public static void setMode(ValidationMode validationMode) {
+        MODE.set(Objects.requireNonNull(validationMode));
+    }
+}
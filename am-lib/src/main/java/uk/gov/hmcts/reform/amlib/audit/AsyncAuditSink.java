@@ -0,0 +1,181 @@
+package uk.gov.hmcts.reform.amlib.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog;
+import uk.gov.hmcts.reform.amlib.internal.utils.BoundedRingBuffer;
+import uk.gov.hmcts.reform.amlib.models.AuditEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sink passing audit events to another sink in batches from a background thread, so that threads calling the library
+ * only enqueue events and do not wait for slow appenders or disks. Events are held in a bounded lock-free ring buffer;
+ * what happens when buffer is full is decided by {@link OverflowPolicy}.
+ *
+ * <p>Closing sink writes all events enqueued so far and then closes underlying sink. Events written after sink is
+ * closed, as well as events of batches underlying sink failed to write, are dropped and counted as such.
+ */
+@Slf4j
+@SuppressWarnings("PMD.DoNotUseThreads") // Events are written by a dedicated background thread
+public class AsyncAuditSink implements AuditSink {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FULL_BUFFER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AuditSink delegate;
+    private final BoundedRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final Thread writer;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final AtomicBoolean idle = new AtomicBoolean();
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+
+    /**
+     * Creates sink with default capacity and batch size, blocking callers when buffer is full.
+     *
+     * @param delegate the sink events are passed to
+     */
+    public AsyncAuditSink(AuditSink delegate) {
+        this(delegate, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Creates sink and starts background thread passing events to underlying sink.
+     *
+     * @param delegate       the sink events are passed to
+     * @param capacity       maximum number of enqueued events, rounded up to power of two
+     * @param batchSize      maximum number of events passed to underlying sink at once
+     * @param overflowPolicy the policy applied to events written when buffer is full
+     * @throws IllegalArgumentException if capacity or batch size is not positive
+     */
+    public AsyncAuditSink(AuditSink delegate, int capacity, int batchSize, OverflowPolicy overflowPolicy) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.delegate = Objects.requireNonNull(delegate);
+        this.buffer = new BoundedRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+        this.writer = new Thread(this::writeEvents, "am-audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public boolean isEnabled(AuditLog.Severity severity) {
+        return delegate.isEnabled(severity);
+    }
+
+    @Override
+    public boolean requiresEntries() {
+        return delegate.requiresEntries();
+    }
+
+    @Override
+    public void write(AuditEvent event) {
+        // Background thread keeps draining buffer after close until every write that started before has finished
+        pendingWrites.incrementAndGet();
+        try {
+            if (!running.get()) {
+                droppedEvents.incrementAndGet();
+                return;
+            }
+            while (!buffer.offer(event)) {
+                // Callers must not wait forever for space that background thread no longer makes
+                if (overflowPolicy == OverflowPolicy.DROP || !running.get() || !writer.isAlive()) {
+                    droppedEvents.incrementAndGet();
+                    return;
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(this, FULL_BUFFER_PARK_NANOS);
+            }
+            if (idle.get()) {
+                LockSupport.unpark(writer);
+            }
+        } finally {
+            pendingWrites.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns number of events dropped because buffer was full, sink was closed or underlying sink failed to write
+     * batch containing them.
+     *
+     * @return number of dropped events
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Writes enqueued events, stops background thread and closes underlying sink. Does nothing if already closed.
+     */
+    @Override
+    public void close() {
+        if (!running.getAndSet(false)) {
+            return;
+        }
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+    }
+
+    private void writeEvents() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running.get() || pendingWrites.get() > 0 || !buffer.isEmpty()) {
+            if (buffer.drainTo(batch, batchSize) > 0) {
+                writeBatch(batch);
+                batch.clear();
+            } else if (running.get()) {
+                idle.set(true);
+                if (buffer.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle.set(false);
+            } else {
+                // Event is being added by caller that has not noticed sink is closed yet
+                Thread.yield();
+            }
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable") // Background thread has to survive errors of underlying sink
+    private void writeBatch(List<AuditEvent> batch) {
+        try {
+            delegate.write(batch);
+        } catch (Throwable e) {
+            droppedEvents.addAndGet(batch.size());
+            log.error("Cannot write " + batch.size() + " audit events", e);
+        }
+    }
+
+    /**
+     * Policy applied to events written when buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Caller waits until there is space in the buffer, so no event is lost.
+         */
+        BLOCK,
+        /**
+         * Event is dropped and counted, so callers never wait.
+         */
+        DROP
+    }
+}
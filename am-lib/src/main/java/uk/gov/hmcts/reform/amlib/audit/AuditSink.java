@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.amlib.audit;
+
+import uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog;
+import uk.gov.hmcts.reform.amlib.models.AuditEvent;
+
+import java.util.List;
+
+/**
+ * Destination of audit events produced by the library. Sink used by the library is set with
+ * {@link AuditSinks#setSink(AuditSink)} and by default logs events with SLF4J, see {@link LoggingAuditSink}.
+ *
+ * <p>Implementations have to be thread safe as events are written by threads calling the library.
+ */
+public interface AuditSink extends AutoCloseable {
+
+    /**
+     * Tells whether events of given severity are written. Messages of events that are not written are not rendered.
+     *
+     * @param severity severity of event
+     * @return true if events of given severity are written, otherwise false
+     */
+    boolean isEnabled(AuditLog.Severity severity);
+
+    /**
+     * Tells whether sink uses {@link AuditEvent#getEntries() resources events are about}. Entries are extracted from
+     * arguments of audited methods only for sinks that use them, so that other sinks do not pay for it.
+     *
+     * @return true if events written to sink should have entries, otherwise false
+     */
+    default boolean requiresEntries() {
+        return false;
+    }
+
+    /**
+     * Writes single audit event.
+     *
+     * @param event audit event
+     */
+    void write(AuditEvent event);
+
+    /**
+     * Writes many audit events at once, in order. Implementations can override it to write batch more efficiently.
+     *
+     * @param events audit events
+     */
+    default void write(List<AuditEvent> events) {
+        events.forEach(this::write);
+    }
+
+    /**
+     * Writes pending audit events and releases resources held by sink.
+     */
+    @Override
+    default void close() {
+        // Nothing to release by default
+    }
+}
@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.amlib.audit;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds audit sink used by all services of the library in the JVM.
+ */
+public final class AuditSinks {
+
+    private static final AtomicReference<AuditSink> SINK = new AtomicReference<>(new LoggingAuditSink());
+
+    private AuditSinks() {
+        throw new UnsupportedOperationException("Constructing utility class is not supported");
+    }
+
+    /**
+     * Returns audit sink currently used by the library.
+     *
+     * @return audit sink
+     */
+    public static AuditSink getSink() {
+        return SINK.get();
+    }
+
+    /**
+     * Replaces audit sink used by the library. Previous sink is not closed, as it might be still used by threads
+     * that have already obtained it, and should be closed by the caller once it is not needed.
+     *
+     * @param auditSink audit sink to use
+     */
+    public static void setSink(AuditSink auditSink) {
+        SINK.set(Objects.requireNonNull(auditSink));
+    }
+}
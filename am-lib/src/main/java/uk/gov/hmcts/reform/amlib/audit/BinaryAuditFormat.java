@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.amlib.audit;
+
+import java.nio.file.Path;
+
+/**
+ * Layout of segment files written by {@link BinaryAuditSink} and read by {@link BinaryAuditLogReader}.
+ *
+ * <p>Segment starts with {@link #MAGIC} followed by records. Every record is prefixed with length of its body;
+ * zero length marks end of records as unused part of segment is filled with zeros. Record body consists of:
+ * <ul>
+ * <li>timestamp as milliseconds since epoch (long)</li>
+ * <li>severity ordinal (byte)</li>
+ * <li>method and caller (strings)</li>
+ * <li>number of entries (int), each made of resource ID, service name, resource type and resource name (strings),
+ * access type ordinal or {@link #NO_ACCESS_TYPE} (byte), number of accessors (int) followed by accessor IDs
+ * (strings) and number of attributes (int) followed by attribute pointer (string) and permissions mask (byte)</li>
+ * </ul>
+ * Strings are written as length of UTF-8 encoded bytes (int), or {@link #NULL_LENGTH} for null, followed by bytes.
+ */
+final class BinaryAuditFormat {
+
+    static final int MAGIC = 0x414D4101;
+    static final int HEADER_SIZE = Integer.BYTES;
+    static final int LENGTH_PREFIX_SIZE = Integer.BYTES;
+    static final int END_OF_RECORDS = 0;
+    static final int NULL_LENGTH = -1;
+    static final byte NO_ACCESS_TYPE = -1;
+
+    private static final String SEGMENT_FILE_PREFIX = "audit-";
+    private static final String SEGMENT_FILE_SUFFIX = ".bin";
+
+    private BinaryAuditFormat() {
+        throw new UnsupportedOperationException("Constructing utility class is not supported");
+    }
+
+    static Path segmentFile(Path directory, long index) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_FILE_PREFIX, index, SEGMENT_FILE_SUFFIX));
+    }
+
+    /**
+     * Returns index of segment file or -1 if file is not a segment file.
+     */
+    static long segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_FILE_PREFIX) || !name.endsWith(SEGMENT_FILE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_FILE_PREFIX.length(),
+                name.length() - SEGMENT_FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
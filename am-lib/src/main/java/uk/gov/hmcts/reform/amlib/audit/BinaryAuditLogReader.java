@@ -0,0 +1,132 @@
+package uk.gov.hmcts.reform.amlib.audit;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import uk.gov.hmcts.reform.amlib.enums.AccessType;
+import uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static uk.gov.hmcts.reform.amlib.audit.BinaryAuditFormat.END_OF_RECORDS;
+import static uk.gov.hmcts.reform.amlib.audit.BinaryAuditFormat.LENGTH_PREFIX_SIZE;
+import static uk.gov.hmcts.reform.amlib.audit.BinaryAuditFormat.MAGIC;
+import static uk.gov.hmcts.reform.amlib.audit.BinaryAuditFormat.NO_ACCESS_TYPE;
+import static uk.gov.hmcts.reform.amlib.audit.BinaryAuditFormat.NULL_LENGTH;
+
+/**
+ * Converts segment files written by {@link BinaryAuditSink} to JSON Lines, one JSON object per audit event.
+ *
+ * <p>Can be run from command line with segment files as arguments, in which case JSON is written to standard output.
+ */
+public final class BinaryAuditLogReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .setRootValueSeparator(null);
+
+    private BinaryAuditLogReader() {
+        throw new UnsupportedOperationException("Constructing utility class is not supported");
+    }
+
+    public static void main(String... args) throws IOException {
+        for (String file : args) {
+            writeJson(Paths.get(file), System.out);
+        }
+        System.out.flush();
+    }
+
+    /**
+     * Writes records of segment as JSON Lines.
+     *
+     * @param segmentFile the segment file to read
+     * @param output      the stream JSON is written to; stream is not closed
+     * @return number of records read
+     * @throws IOException if segment cannot be read, is not a segment file or output cannot be written
+     */
+    public static int writeJson(Path segmentFile, OutputStream output) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile, READ);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8)) {
+            ByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (segment.remaining() < Integer.BYTES || segment.getInt() != MAGIC) {
+                throw new IOException("Not an audit segment file: " + segmentFile);
+            }
+
+            int records = 0;
+            while (segment.remaining() >= LENGTH_PREFIX_SIZE) {
+                int length = segment.getInt();
+                if (length == END_OF_RECORDS) {
+                    break;
+                }
+                ByteBuffer record = segment.slice();
+                record.limit(length);
+                segment.position(segment.position() + length);
+                writeRecord(record, generator);
+                records++;
+            }
+            generator.flush();
+            return records;
+        }
+    }
+
+    private static void writeRecord(ByteBuffer record, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("timestamp", Instant.ofEpochMilli(record.getLong()).toString());
+        generator.writeStringField("severity", AuditLog.Severity.values()[record.get()].name());
+        generator.writeStringField("method", getString(record));
+        generator.writeStringField("caller", getString(record));
+
+        generator.writeArrayFieldStart("entries");
+        int entries = record.getInt();
+        for (int entry = 0; entry < entries; entry++) {
+            generator.writeStartObject();
+            generator.writeStringField("resourceId", getString(record));
+            generator.writeObjectFieldStart("resourceDefinition");
+            generator.writeStringField("serviceName", getString(record));
+            generator.writeStringField("resourceType", getString(record));
+            generator.writeStringField("resourceName", getString(record));
+            generator.writeEndObject();
+
+            byte accessType = record.get();
+            generator.writeStringField("accessType",
+                accessType == NO_ACCESS_TYPE ? null : AccessType.values()[accessType].name());
+
+            generator.writeArrayFieldStart("accessors");
+            int accessors = record.getInt();
+            for (int accessor = 0; accessor < accessors; accessor++) {
+                generator.writeString(getString(record));
+            }
+            generator.writeEndArray();
+
+            generator.writeObjectFieldStart("permissions");
+            int attributes = record.getInt();
+            for (int attribute = 0; attribute < attributes; attribute++) {
+                generator.writeNumberField(getString(record), record.get());
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static String getString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package uk.gov.hmcts.reform.amlib.audit;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import uk.gov.hmcts.reform.amlib.enums.Permission;
+import uk.gov.hmcts.reform.amlib.internal.utils.Permissions;
+import uk.gov.hmcts.reform.amlib.models.AuditEntry;
+import uk.gov.hmcts.reform.amlib.models.AuditEvent;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static uk.gov.hmcts.reform.amlib.audit.BinaryAuditFormat.NO_ACCESS_TYPE;
+import static uk.gov.hmcts.reform.amlib.audit.BinaryAuditFormat.NULL_LENGTH;
+
+/**
+ * Encodes audit events as record bodies described in {@link BinaryAuditFormat}, with one entry per resource event is
+ * about. Encoder reuses its buffer and is not thread safe.
+ */
+class BinaryAuditRecordEncoder {
+
+    private static final int INITIAL_RECORD_CAPACITY = 1024;
+
+    private ByteBuffer record = ByteBuffer.allocate(INITIAL_RECORD_CAPACITY);
+
+    /**
+     * Encodes event into buffer that is valid until next event is encoded.
+     *
+     * @param event audit event
+     * @return buffer holding record body between its position and limit
+     */
+    ByteBuffer encode(AuditEvent event) {
+        while (true) {
+            record.clear();
+            try {
+                encodeRecord(event);
+                record.flip();
+                return record;
+            } catch (BufferOverflowException e) {
+                record = ByteBuffer.allocate(record.capacity() * 2);
+            }
+        }
+    }
+
+    private void encodeRecord(AuditEvent event) {
+        record.putLong(event.getTimestamp().toEpochMilli());
+        record.put((byte) event.getSeverity().ordinal());
+        putString(event.getMethod());
+        putString(event.getCaller());
+
+        List<AuditEntry> entries = event.getEntries() == null ? Collections.emptyList() : event.getEntries();
+        record.putInt(entries.size());
+        entries.forEach(this::putEntry);
+    }
+
+    private void putEntry(AuditEntry entry) {
+        ResourceDefinition resourceDefinition = entry.getResourceDefinition();
+        putString(entry.getResourceId());
+        putString(resourceDefinition == null ? null : resourceDefinition.getServiceName());
+        putString(resourceDefinition == null ? null : resourceDefinition.getResourceType());
+        putString(resourceDefinition == null ? null : resourceDefinition.getResourceName());
+        record.put(entry.getAccessType() == null ? NO_ACCESS_TYPE : (byte) entry.getAccessType().ordinal());
+
+        Set<String> accessors = entry.getAccessors() == null ? Collections.emptySet() : entry.getAccessors();
+        record.putInt(accessors.size());
+        accessors.forEach(this::putString);
+
+        Map<JsonPointer, Set<Permission>> permissions = entry.getPermissions() == null
+            ? Collections.emptyMap() : entry.getPermissions();
+        record.putInt(permissions.size());
+        permissions.forEach((attribute, attributePermissions) -> {
+            putString(attribute.toString());
+            record.put((byte) Permissions.sumOf(attributePermissions));
+        });
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            record.putInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        record.putInt(bytes.length);
+        record.put(bytes);
+    }
+}
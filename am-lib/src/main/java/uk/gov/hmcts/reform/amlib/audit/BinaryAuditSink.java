@@ -0,0 +1,179 @@
+package uk.gov.hmcts.reform.amlib.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog;
+import uk.gov.hmcts.reform.amlib.models.AuditEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static uk.gov.hmcts.reform.amlib.audit.BinaryAuditFormat.END_OF_RECORDS;
+import static uk.gov.hmcts.reform.amlib.audit.BinaryAuditFormat.HEADER_SIZE;
+import static uk.gov.hmcts.reform.amlib.audit.BinaryAuditFormat.LENGTH_PREFIX_SIZE;
+import static uk.gov.hmcts.reform.amlib.audit.BinaryAuditFormat.MAGIC;
+
+/**
+ * Sink recording audit events as compact binary records appended to memory-mapped segment files, which is much
+ * cheaper than logging text and can be converted to JSON with {@link BinaryAuditLogReader}. Besides method and
+ * caller every record describes resources the event is about: resource ID and definition, accessors, access type
+ * and permissions to attributes as masks.
+ *
+ * <p>Segments are created in given directory with consecutive indexes, starting after the highest index already
+ * present, and a new segment is started when record does not fit into the current one. Records are visible to
+ * readers and survive crash of the JVM as soon as they are written; they are forced to storage when segment is
+ * complete or sink is closed. Sink is best combined with {@link AsyncAuditSink} so that records are encoded and
+ * written off the calling thread.
+ */
+@Slf4j
+public class BinaryAuditSink implements AuditSink {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final AuditLog.Severity minimumSeverity;
+    private final Object lock = new Object();
+    private final BinaryAuditRecordEncoder encoder = new BinaryAuditRecordEncoder();
+    private long segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private boolean segmentOpen;
+
+    public BinaryAuditSink(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public BinaryAuditSink(Path directory, int segmentSize) {
+        this(directory, segmentSize, AuditLog.Severity.INFO);
+    }
+
+    /**
+     * Creates sink appending records of events of given or higher severity to segments of given size in given
+     * directory.
+     *
+     * @param directory       the directory segments are created in; created if it does not exist
+     * @param segmentSize     size of a single segment in bytes
+     * @param minimumSeverity the lowest severity of events that are recorded
+     * @throws UncheckedIOException if directory cannot be created or read
+     */
+    public BinaryAuditSink(Path directory, int segmentSize, AuditLog.Severity minimumSeverity) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.minimumSeverity = Objects.requireNonNull(minimumSeverity);
+        try (Stream<Path> files = Files.list(Files.createDirectories(directory))) {
+            this.segmentIndex = files.mapToLong(BinaryAuditFormat::segmentIndex).max().orElse(-1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean isEnabled(AuditLog.Severity severity) {
+        return severity.compareTo(minimumSeverity) >= 0;
+    }
+
+    @Override
+    public boolean requiresEntries() {
+        return true;
+    }
+
+    @Override
+    public void write(AuditEvent event) {
+        synchronized (lock) {
+            append(encoder.encode(event));
+        }
+    }
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        synchronized (lock) {
+            for (AuditEvent event : events) {
+                append(encoder.encode(event));
+            }
+        }
+    }
+
+    /**
+     * Forces current segment to storage and closes it.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closeSegment();
+        }
+    }
+
+    private void append(ByteBuffer record) {
+        int requiredSize = LENGTH_PREFIX_SIZE + record.remaining();
+        if (requiredSize > segmentSize - HEADER_SIZE - LENGTH_PREFIX_SIZE) {
+            log.warn("Audit record of " + record.remaining() + " bytes does not fit into segment and is dropped");
+            return;
+        }
+        if (!segmentOpen || segment.remaining() < requiredSize + LENGTH_PREFIX_SIZE) {
+            openNextSegment();
+        }
+        int lengthPosition = segment.position();
+        segment.position(lengthPosition + LENGTH_PREFIX_SIZE);
+        segment.put(record);
+        // Length is written last so that readers never see partially written record
+        segment.putInt(lengthPosition, segment.position() - lengthPosition - LENGTH_PREFIX_SIZE);
+    }
+
+    /**
+     * Opens segment following the current one. Segment that cannot be mapped is closed and deleted, so that next
+     * write tries to open another one and readers never see segment without header.
+     */
+    private void openNextSegment() {
+        closeSegment();
+        segmentIndex++;
+        Path segmentFile = BinaryAuditFormat.segmentFile(directory, segmentIndex);
+        try {
+            FileChannel segmentChannel = FileChannel.open(segmentFile, CREATE_NEW, READ, WRITE);
+            try {
+                segment = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            } catch (IOException | RuntimeException e) {
+                discardSegment(segmentChannel, segmentFile, e);
+                throw e;
+            }
+            channel = segmentChannel;
+            segment.putInt(MAGIC);
+            segmentOpen = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void discardSegment(FileChannel segmentChannel, Path segmentFile, Exception cause) {
+        try {
+            segmentChannel.close();
+            Files.deleteIfExists(segmentFile);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private void closeSegment() {
+        if (!segmentOpen) {
+            return;
+        }
+        segmentOpen = false;
+        segment.putInt(segment.position(), END_OF_RECORDS);
+        segment.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
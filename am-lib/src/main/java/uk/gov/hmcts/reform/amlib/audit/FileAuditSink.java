@@ -0,0 +1,89 @@
+package uk.gov.hmcts.reform.amlib.audit;
+
+import uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog;
+import uk.gov.hmcts.reform.amlib.models.AuditEvent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * Sink appending audit events to a file, one line per event formatted as {@code <timestamp> <severity> <message>}.
+ * File is flushed after every write, so batches of events written by {@link AsyncAuditSink} are flushed together.
+ */
+public class FileAuditSink implements AuditSink {
+
+    private final BufferedWriter writer;
+
+    /**
+     * Opens file for appending, creating it if it does not exist.
+     *
+     * @param file the file events are appended to
+     * @throws UncheckedIOException if file cannot be opened
+     */
+    public FileAuditSink(Path file) {
+        try {
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, CREATE, APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean isEnabled(AuditLog.Severity severity) {
+        return true;
+    }
+
+    @Override
+    public void write(AuditEvent event) {
+        synchronized (writer) {
+            try {
+                writeLine(event);
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        synchronized (writer) {
+            try {
+                for (AuditEvent event : events) {
+                    writeLine(event);
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (writer) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void writeLine(AuditEvent event) throws IOException {
+        writer.write(event.getTimestamp().toString());
+        writer.write(' ');
+        writer.write(event.getSeverity().name());
+        writer.write(' ');
+        writer.write(event.getMessage());
+        writer.newLine();
+    }
+}
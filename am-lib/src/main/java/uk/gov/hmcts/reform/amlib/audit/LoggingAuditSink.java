@@ -0,0 +1,39 @@
+package uk.gov.hmcts.reform.amlib.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog;
+import uk.gov.hmcts.reform.amlib.internal.aspects.AuditingAspect;
+import uk.gov.hmcts.reform.amlib.models.AuditEvent;
+
+/**
+ * Sink logging audit events with SLF4J logger of {@link AuditingAspect}, at level matching event severity.
+ */
+@Slf4j(topic = "uk.gov.hmcts.reform.amlib.internal.aspects.AuditingAspect")
+public class LoggingAuditSink implements AuditSink {
+
+    @Override
+    public boolean isEnabled(AuditLog.Severity severity) {
+        switch (severity) {
+            case DEBUG:
+                return log.isDebugEnabled();
+            case INFO:
+                return log.isInfoEnabled();
+            default:
+                throw new IllegalArgumentException("Unsupported severity: " + severity);
+        }
+    }
+
+    @Override
+    public void write(AuditEvent event) {
+        switch (event.getSeverity()) {
+            case DEBUG:
+                log.debug(event.getMessage());
+                break;
+            case INFO:
+                log.info(event.getMessage());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported severity: " + event.getSeverity());
+        }
+    }
+}
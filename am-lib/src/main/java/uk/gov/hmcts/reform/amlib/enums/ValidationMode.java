@@ -0,0 +1,13 @@
+package uk.gov.hmcts.reform.amlib.enums;
+
+public enum ValidationMode {
+    /**
+     * Validates method arguments together with all objects reachable from them through {@code @Valid}.
+     */
+    FULL,
+    /**
+     * Validates arguments of filtering methods without validating content of resources, for callers that pass
+     * resources already validated elsewhere e.g. read back from their own store. Other methods are validated fully.
+     */
+    SHALLOW
+}
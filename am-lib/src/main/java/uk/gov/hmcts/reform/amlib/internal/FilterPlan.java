@@ -0,0 +1,288 @@
+package uk.gov.hmcts.reform.amlib.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import uk.gov.hmcts.reform.amlib.enums.Permission;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static uk.gov.hmcts.reform.amlib.enums.Permission.READ;
+
+/**
+ * Immutable, precompiled representation of attribute permissions used to filter JSON resources.
+ *
+ * <p>Plan is a trie of JSON pointer segments where each node carries an instruction telling whether the attribute
+ * (and all its children that are not configured explicitly) should be retained or removed.
+ *
+ * <p>Example:
+ * <pre>
+ * {
+ *   "": [READ],
+ *   "/claimant": [CREATE],
+ *   "/claimant/address/city": [READ]
+ * }
+ *
+ * (RETAIN)
+ *   claimant (REMOVE)
+ *     address (INHERIT)
+ *       city (RETAIN)
+ * </pre>
+ */
+final class FilterPlan {
+
+    private final Node root;
+    private final boolean readable;
+
+    private FilterPlan(Node root) {
+        this.root = root;
+        this.readable = root.instruction == Instruction.RETAIN || root.readableDescendant;
+    }
+
+    /**
+     * Compiles attribute permissions into a filter plan.
+     *
+     * @param attributePermissions map of permissions per attribute
+     * @return compiled plan
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops") // Trie nodes cannot be created outside the loop
+    static FilterPlan compile(Map<JsonPointer, Set<Permission>> attributePermissions) {
+        Node root = new Node();
+        attributePermissions.forEach((attribute, permissions) -> {
+            Node node = root;
+            for (JsonPointer pointer = attribute; !pointer.matches(); pointer = pointer.tail()) {
+                node = node.children.computeIfAbsent(pointer.getMatchingProperty(), segment -> new Node());
+            }
+            node.instruction = permissions.contains(READ) ? Instruction.RETAIN : Instruction.REMOVE;
+        });
+        root.computeReadableDescendants();
+        return new FilterPlan(root);
+    }
+
+    /**
+     * Applies plan to JSON resource producing filtered copy. Input resource is not modified.
+     *
+     * @param resource JSON resource to filter
+     * @return filtered copy of resource or null if plan does not grant READ permission to any attribute
+     */
+    JsonNode apply(JsonNode resource) {
+        if (!readable) {
+            return null;
+        }
+
+        JsonNode filteredResource = filter(root, resource, false, false);
+        return filteredResource == null ? JsonNodeFactory.instance.objectNode() : filteredResource;
+    }
+
+    /**
+     * Applies plan to JSON resource read from parser writing filtered resource to generator in a single pass, without
+     * building tree representation of resource. Result is the same as one produced by {@link #apply(JsonNode)}.
+     *
+     * @param parser    parser positioned before or at the first token of JSON resource to filter
+     * @param generator generator filtered resource is written to; JSON null is written if plan does not grant
+     *                  READ permission to any attribute
+     * @throws IOException if resource cannot be read or written
+     */
+    void apply(JsonParser parser, JsonGenerator generator) throws IOException {
+        if (!parser.hasCurrentToken() && parser.nextToken() == null) {
+            throw new IOException("Resource does not contain any JSON value");
+        }
+
+        if (!readable) {
+            parser.skipChildren();
+            generator.writeNull();
+            return;
+        }
+
+        new StreamingFilter(parser, generator).filterRoot(root);
+    }
+
+    /**
+     * Filters node accordingly to plan.
+     *
+     * <p>Objects that are not readable themselves but have readable descendants are retained, even if empty, when
+     * they are nested in a readable object; otherwise only when at least one of their fields remained after
+     * filtering. Values other than objects are treated as leaves.
+     *
+     * @return filtered copy of node or null when node should be removed
+     */
+    private JsonNode filter(Node planNode, JsonNode node, boolean inheritedRead, boolean readableAncestor) {
+        boolean read = planNode.instruction.resolve(inheritedRead);
+        if (planNode.isRemoved(read)) {
+            return null;
+        }
+
+        if (planNode.children.isEmpty() || !node.isObject()) {
+            return node.deepCopy();
+        }
+
+        boolean retainedIfEmpty = read || readableAncestor;
+        ObjectNode filteredNode = filterFields(planNode, node, read, retainedIfEmpty);
+        return retainedIfEmpty || filteredNode.size() > 0 ? filteredNode : null;
+    }
+
+    private ObjectNode filterFields(Node planNode, JsonNode node, boolean read, boolean readableAncestor) {
+        ObjectNode filteredNode = JsonNodeFactory.instance.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            Node childPlanNode = planNode.children.get(field.getKey());
+
+            if (childPlanNode == null) {
+                if (read) {
+                    filteredNode.set(field.getKey(), field.getValue().deepCopy());
+                }
+            } else {
+                JsonNode filteredValue = filter(childPlanNode, field.getValue(), read, readableAncestor);
+                if (filteredValue != null) {
+                    filteredNode.set(field.getKey(), filteredValue);
+                }
+            }
+        }
+        return filteredNode;
+    }
+
+    /**
+     * Streaming counterpart of tree filtering. Objects that are retained only for their readable descendants, and
+     * are not nested in a readable object, are written lazily, when the first field is about to be written inside
+     * of them.
+     */
+    private static final class StreamingFilter {
+        private final JsonParser parser;
+        private final JsonGenerator generator;
+        private final List<PendingObject> objects = new ArrayList<>();
+
+        private StreamingFilter(JsonParser parser, JsonGenerator generator) {
+            this.parser = parser;
+            this.generator = generator;
+        }
+
+        private void filterRoot(Node planNode) throws IOException {
+            boolean read = planNode.instruction.resolve(false);
+            if (planNode.children.isEmpty() || parser.currentToken() != JsonToken.START_OBJECT) {
+                generator.copyCurrentStructure(parser);
+            } else if (!filterObject(planNode, null, read, false)) {
+                generator.writeStartObject();
+                generator.writeEndObject();
+            }
+        }
+
+        private void filterValue(Node planNode, String fieldName, boolean inheritedRead, boolean readableAncestor)
+            throws IOException {
+            boolean read = planNode.instruction.resolve(inheritedRead);
+            if (planNode.isRemoved(read)) {
+                parser.skipChildren();
+            } else if (planNode.children.isEmpty() || parser.currentToken() != JsonToken.START_OBJECT) {
+                copyField(fieldName);
+            } else {
+                filterObject(planNode, fieldName, read, readableAncestor);
+            }
+        }
+
+        /**
+         * Filters object fields accordingly to plan.
+         *
+         * @return true if object has been written to generator, otherwise false
+         */
+        private boolean filterObject(Node planNode, String fieldName, boolean read, boolean readableAncestor)
+            throws IOException {
+            boolean retainedIfEmpty = read || readableAncestor;
+            PendingObject object = new PendingObject(fieldName);
+            objects.add(object);
+            if (retainedIfEmpty) {
+                writePendingObjects();
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String childFieldName = parser.getCurrentName();
+                parser.nextToken();
+
+                Node childPlanNode = planNode.children.get(childFieldName);
+                if (childPlanNode == null) {
+                    if (read) {
+                        copyField(childFieldName);
+                    } else {
+                        parser.skipChildren();
+                    }
+                } else {
+                    filterValue(childPlanNode, childFieldName, read, retainedIfEmpty);
+                }
+            }
+
+            objects.remove(objects.size() - 1);
+            if (object.written) {
+                generator.writeEndObject();
+            }
+            return object.written;
+        }
+
+        private void copyField(String fieldName) throws IOException {
+            writePendingObjects();
+            if (fieldName != null) {
+                generator.writeFieldName(fieldName);
+            }
+            generator.copyCurrentStructure(parser);
+        }
+
+        private void writePendingObjects() throws IOException {
+            for (PendingObject object : objects) {
+                if (!object.written) {
+                    if (object.fieldName != null) {
+                        generator.writeFieldName(object.fieldName);
+                    }
+                    generator.writeStartObject();
+                    object.written = true;
+                }
+            }
+        }
+    }
+
+    private static final class PendingObject {
+        private final String fieldName;
+        private boolean written;
+
+        private PendingObject(String fieldName) {
+            this.fieldName = fieldName;
+        }
+    }
+
+    private enum Instruction {
+        INHERIT,
+        RETAIN,
+        REMOVE;
+
+        private boolean resolve(boolean inheritedRead) {
+            return this == INHERIT ? inheritedRead : this == RETAIN;
+        }
+    }
+
+    private static final class Node {
+        @SuppressWarnings("PMD.UseConcurrentHashMap") // Map is populated only during compilation
+        private final Map<String, Node> children = new HashMap<>();
+        private Instruction instruction = Instruction.INHERIT;
+        private boolean readableDescendant;
+
+        private boolean isRemoved(boolean read) {
+            return !read && !readableDescendant;
+        }
+
+        private boolean computeReadableDescendants() {
+            for (Node child : children.values()) {
+                if (child.computeReadableDescendants()) {
+                    readableDescendant = true;
+                }
+            }
+            return readableDescendant || instruction == Instruction.RETAIN;
+        }
+    }
+}
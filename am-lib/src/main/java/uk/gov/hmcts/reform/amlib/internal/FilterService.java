@@ -1,193 +1,148 @@
 package uk.gov.hmcts.reform.amlib.internal;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
 import uk.gov.hmcts.reform.amlib.enums.Permission;
+import uk.gov.hmcts.reform.amlib.internal.cache.BoundedCache;
+import uk.gov.hmcts.reform.amlib.internal.utils.FlightRecorderEvent;
+import uk.gov.hmcts.reform.amlib.metrics.MetricsRecorders;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.io.IOException;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
-import static uk.gov.hmcts.reform.amlib.enums.Permission.READ;
+import static uk.gov.hmcts.reform.amlib.internal.utils.FlightRecorderEventType.FILTER_JSON;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.FILTER_PHASE;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.PHASE_TIMER;
 
 @Slf4j
-@SuppressWarnings("LineLength")
 public class FilterService {
 
-    private static final JsonPointer WHOLE_RESOURCE_POINTER = JsonPointer.valueOf("");
+    static final int DEFAULT_PLAN_CACHE_SIZE = 1000;
 
-    public JsonNode filterJson(JsonNode resource, Map<JsonPointer, Set<Permission>> attributePermissions) {
-        List<JsonPointer> nodesWithRead = filterPointersWithReadPermission(attributePermissions);
-        log.debug("> Nodes with READ access: " + nodesWithRead);
-
-        if (nodesWithRead.isEmpty()) {
-            return null;
-        }
-
-        JsonNode resourceCopy = resource.deepCopy();
-
-        if (!nodesWithRead.contains(WHOLE_RESOURCE_POINTER)) {
-            List<JsonPointer> uniqueNodesWithRead = reducePointersToUniqueList(nodesWithRead);
-            log.debug("> Unique nodes with READ access: " + uniqueNodesWithRead);
-
-            retainFieldsWithReadPermission(resourceCopy, uniqueNodesWithRead);
-        }
-
-        List<JsonPointer> nodesWithoutRead = filterPointersWithoutReadPermission(attributePermissions);
-        log.debug("> Nodes without READ access: " + nodesWithoutRead);
-
-        removeFieldsWithoutReadPermission(resourceCopy, nodesWithRead, nodesWithoutRead);
-
-        return resourceCopy;
-    }
-
-    private List<JsonPointer> filterPointersWithReadPermission(Map<JsonPointer, Set<Permission>> attributePermissions) {
-        return attributePermissions.entrySet().stream()
-            .filter(entry -> entry.getValue().contains(READ))
-            .map(Map.Entry::getKey)
-            .collect(Collectors.toList());
-    }
+    private final BoundedCache<PlanKey, FilterPlan> planCache;
 
-    private List<JsonPointer> reducePointersToUniqueList(List<JsonPointer> nodesWithRead) {
-        return nodesWithRead.stream()
-            .sorted(Comparator.comparing(JsonPointer::toString))
-            .reduce(new ArrayList<>(),
-                (List<JsonPointer> result, JsonPointer pointerCandidate) -> {
-                    // already contains parent so no point adding
-                    if (result.stream().noneMatch(acceptedPointer ->
-                        pointerCandidate.toString().startsWith(acceptedPointer.toString() + "/")
-                    )) {
-                        result.add(pointerCandidate);
-                    }
-                    return result;
-                }, (f, s) -> f);
+    public FilterService() {
+        this(DEFAULT_PLAN_CACHE_SIZE);
     }
 
-    private List<JsonPointer> filterPointersWithoutReadPermission(Map<JsonPointer, Set<Permission>> attributePermissions) {
-        return attributePermissions.entrySet().stream()
-            .filter(entry -> !entry.getValue().contains(READ))
-            .map(Map.Entry::getKey)
-            .collect(Collectors.toList());
+    /**
+     * Creates filter service caching compiled filter plans.
+     *
+     * @param planCacheSize maximum number of distinct permission maps for which compiled plans are kept
+     */
+    public FilterService(int planCacheSize) {
+        this.planCache = new BoundedCache<>(planCacheSize);
     }
 
-    @SuppressWarnings("PMD.UseConcurrentHashMap") // Sorted map is needed; instance is local as well
-    private void retainFieldsWithReadPermission(JsonNode resource, List<JsonPointer> uniqueNodesWithRead) {
-
-        Collection<Map<JsonPointer, Set<String>>> pointersByDepth = decomposePointersByDepth(uniqueNodesWithRead).values();
-        log.debug(">> Pointer candidates for retaining: " + pointersByDepth);
-
-        pointersByDepth.forEach(map -> map.forEach((key, value) -> {
-            JsonNode node = resource.at(key);
-            if (node instanceof ObjectNode) {
-                log.debug(">>> Retaining '" + value + "' out of '" + key + "'");
-                ObjectNode filteredNode = ((ObjectNode) node).retain(value);
-                if (filteredNode.size() == 0 && key.head() != null) {
-                    ((ObjectNode) resource.at(key.head()))
-                        .remove(key.last().toString().substring(1));
-                }
+    public JsonNode filterJson(JsonNode resource, Map<JsonPointer, Set<Permission>> attributePermissions) {
+        FlightRecorderEvent event = FILTER_JSON.begin();
+        long start = System.nanoTime();
+        try {
+            JsonNode filteredResource = getFilterPlan(attributePermissions).apply(resource);
+            if (event.isEnabled()) {
+                event.commit(attributePermissions.size(), countNodes(resource), false);
             }
-        }));
+            return filteredResource;
+        } finally {
+            MetricsRecorders.getRecorder().recordTime(PHASE_TIMER, FILTER_PHASE, System.nanoTime() - start);
+        }
     }
 
     /**
-     * Decomposes set of JSON pointers into parent-children maps sorted by the depth of the tree.
+     * Filters JSON resource read from parser and writes result to generator without building tree representation
+     * of resource. JSON null is written when there is no READ permission to any attribute.
      *
-     * <p>Example:
-     * <pre>
-     * [
-     *   /claimant/name
-     *   /claimant/address
-     *   /defendant/address
-     * ]
-     *
-     * {
-     *   "2": {
-     *     "/claimant": [
-     *       ["name", "address"]
-     *     ],
-     *     "/defendant": [
-     *       ["address"]
-     *     ]
-     *   },
-     *   "1": {
-     *     "/": ["claimant", "defendant"]
-     *   }
-     * }
-     * </pre>
+     * @param parser               parser of resource to filter
+     * @param generator            generator filtered resource is written to
+     * @param attributePermissions map of permissions per attribute
+     * @throws IOException if resource cannot be read or written
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops") // Objects cannot be created outside the loop
-    private Map<Integer, Map<JsonPointer, Set<String>>> decomposePointersByDepth(List<JsonPointer> nodes) {
-        return nodes.stream()
-            .reduce(new TreeMap<>(Collections.reverseOrder()),
-                (Map<Integer, Map<JsonPointer, Set<String>>> result, JsonPointer pointer) -> {
-                    JsonPointer fieldPointer = pointer.last();
-                    JsonPointer parentPointer = pointer.head();
-
-                    while (parentPointer != null) {
-                        int depth = parentPointer.toString().split("/").length;
-
-                        if (!result.containsKey(depth)) {
-                            result.put(depth, new ConcurrentHashMap<>());
-                        }
+    public void filterJson(JsonParser parser,
+                           JsonGenerator generator,
+                           Map<JsonPointer, Set<Permission>> attributePermissions) throws IOException {
+        FlightRecorderEvent event = FILTER_JSON.begin();
+        long start = System.nanoTime();
+        try {
+            getFilterPlan(attributePermissions).apply(parser, generator);
+            if (event.isEnabled()) {
+                event.commit(attributePermissions.size(), parser.getCurrentLocation().getByteOffset(), true);
+            }
+        } finally {
+            MetricsRecorders.getRecorder().recordTime(PHASE_TIMER, FILTER_PHASE, System.nanoTime() - start);
+        }
+    }
 
-                        Map<JsonPointer, Set<String>> map = result.get(depth);
+    /**
+     * Returns plan compiled for permissions. Plans are cached as permission maps are very often identical
+     * e.g. for all resources of the same definition accessed with role based access.
+     */
+    FilterPlan getFilterPlan(Map<JsonPointer, Set<Permission>> attributePermissions) {
+        PlanKey key = new PlanKey(attributePermissions);
+        FilterPlan plan = planCache.get(key);
+        if (plan == null) {
+            log.debug("> Compiling filter plan for permissions: " + attributePermissions);
+            plan = FilterPlan.compile(attributePermissions);
+            planCache.put(PlanKey.copyOf(attributePermissions), plan);
+        }
+        return plan;
+    }
 
-                        if (!map.containsKey(parentPointer)) {
-                            map.put(parentPointer, new HashSet<>());
-                        }
+    private static long countNodes(JsonNode node) {
+        if (node == null) {
+            return 0;
+        }
+        long count = 1;
+        for (JsonNode child : node) {
+            count += countNodes(child);
+        }
+        return count;
+    }
 
-                        map.get(parentPointer).add(fieldPointer.toString().substring(1));
+    /**
+     * Cache key with precomputed hash so that hashing is not performed while cache lock is held.
+     */
+    private static final class PlanKey {
+        private final Map<JsonPointer, Set<Permission>> attributePermissions;
+        private final int hash;
 
-                        fieldPointer = parentPointer.last();
-                        parentPointer = parentPointer.head();
-                    }
+        private PlanKey(Map<JsonPointer, Set<Permission>> attributePermissions) {
+            this.attributePermissions = attributePermissions;
+            this.hash = attributePermissions.hashCode();
+        }
 
-                    return result;
-                }, (firstPointer, secondPointer) -> firstPointer);
-    }
+        @SuppressWarnings({
+            "PMD.UseConcurrentHashMap", // Map is local and wrapped as unmodifiable
+            "PMD.AvoidInstantiatingObjectsInLoops" // Copy of every set is needed to make key immutable
+        })
+        private static PlanKey copyOf(Map<JsonPointer, Set<Permission>> attributePermissions) {
+            Map<JsonPointer, Set<Permission>> copy = new HashMap<>();
+            attributePermissions.forEach((attribute, permissions) ->
+                copy.put(attribute, Collections.unmodifiableSet(new HashSet<>(permissions))));
+            return new PlanKey(Collections.unmodifiableMap(copy));
+        }
 
-    private void removeFieldsWithoutReadPermission(JsonNode resource, List<JsonPointer> nodesWithRead, List<JsonPointer> nodesWithoutRead) {
-        nodesWithoutRead.forEach(pointerCandidateForRemoval -> {
-            log.debug(">> Pointer candidate for removal: " + pointerCandidateForRemoval);
-            List<JsonPointer> childPointersWithRead = nodesWithRead.stream()
-                .filter(pointerWithRead -> pointerWithRead.toString().startsWith(pointerCandidateForRemoval.toString() + "/"))
-                .collect(Collectors.toList());
-            if (childPointersWithRead.isEmpty()) {
-                // remove whole node
-                log.debug(">>> Removing '" + pointerCandidateForRemoval + "'");
-                JsonNode node = resource.at(pointerCandidateForRemoval.head());
-                if (node instanceof ObjectNode) {
-                    ((ObjectNode) node).remove(pointerCandidateForRemoval.last().toString().substring(1));
-                }
-            } else {
-                // retain node's children with READ
-                JsonNode node = resource.at(pointerCandidateForRemoval);
-                if (node instanceof ObjectNode) {
-                    childPointersWithRead.forEach(childPointerWithRead -> {
-                        JsonPointer fieldPointer = childPointerWithRead.last();
-                        JsonPointer parentPointer = childPointerWithRead.head();
-
-                        while (!Objects.equals(parentPointer, pointerCandidateForRemoval.head())) {
-                            log.debug(">>> Retaining '" + fieldPointer + "' out of '" + parentPointer + "'");
-                            ((ObjectNode) resource.at(parentPointer)).retain(fieldPointer.toString().substring(1));
-
-                            fieldPointer = parentPointer.last();
-                            parentPointer = parentPointer.head();
-                        }
-                    });
-                }
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof PlanKey)) {
+                return false;
             }
-        });
+            PlanKey that = (PlanKey) other;
+            return hash == that.hash && attributePermissions.equals(that.attributePermissions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 }
@@ -1,25 +1,34 @@
 package uk.gov.hmcts.reform.amlib.internal;
 
 import com.fasterxml.jackson.core.JsonPointer;
-import lombok.EqualsAndHashCode;
-import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import uk.gov.hmcts.reform.amlib.enums.Permission;
+import uk.gov.hmcts.reform.amlib.internal.utils.FlightRecorderEvent;
+import uk.gov.hmcts.reform.amlib.metrics.MetricsRecorders;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
-import static java.util.Collections.reverseOrder;
-import static java.util.Comparator.comparing;
+import static uk.gov.hmcts.reform.amlib.internal.utils.FlightRecorderEventType.MERGE_PERMISSIONS;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.MERGE_PHASE;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.PHASE_TIMER;
 
 @Slf4j
 public class PermissionsService {
 
+    /**
+     * Maximum number of sources that can be merged in one pass, limited by number of bits in source bitset.
+     */
+    static final int MAX_SOURCES_PER_PASS = Long.SIZE;
+
+    private static final Permission[] PERMISSIONS = Permission.values();
+    private static final List<Set<Permission>> PERMISSION_SETS = createPermissionSets();
+
     /**
      * Merges permission maps together by combining permissions by attribute. If an attribute is not present in all
      * sources then attribute merge is completed by propagating parent permissions from remaining sources onto a child.
@@ -30,101 +39,139 @@ public class PermissionsService {
     public Map<JsonPointer, Set<Permission>> merge(List<Map<JsonPointer, Set<Permission>>> permissions) {
         log.debug("Attempting to merge permission maps: {}", permissions);
 
-        Map<JsonPointer, Merge> mergedAttributePermissions = combinePermissionByAttribute(permissions);
-        propagateParentPermissionsToClosestChild(mergedAttributePermissions, permissions.size());
-        return mergedAttributePermissions.entrySet().stream()
-            .collect(Collectors.toMap(
-                Map.Entry::getKey,
-                entry -> entry.getValue().getCombinedPermissions()
-            ));
+        FlightRecorderEvent event = MERGE_PERMISSIONS.begin();
+        long start = System.nanoTime();
+        try {
+            Map<JsonPointer, Set<Permission>> mergedPermissions = mergeSources(permissions);
+            if (event.isEnabled()) {
+                event.commit(permissions.size(), mergedPermissions.size());
+            }
+            return mergedPermissions;
+        } finally {
+            MetricsRecorders.getRecorder().recordTime(PHASE_TIMER, MERGE_PHASE, System.nanoTime() - start);
+        }
+    }
+
+    @SuppressWarnings("PMD.UseConcurrentHashMap") // Map is populated by a single thread
+    private Map<JsonPointer, Set<Permission>> mergeSources(List<Map<JsonPointer, Set<Permission>>> permissions) {
+        if (permissions.size() > MAX_SOURCES_PER_PASS) {
+            return mergeInChunks(permissions);
+        }
+
+        MergeNode root = combinePermissionsByAttribute(permissions);
+        Map<JsonPointer, Set<Permission>> mergedPermissions = new HashMap<>();
+        propagateParentPermissionsToChildren(root, new long[PERMISSIONS.length], mergedPermissions);
+        return mergedPermissions;
     }
 
     /**
-     * Merges permission maps together by combining permissions by attribute.
-     *
-     * @implNote
-     * Map values not only represent combined permissions but also merge sources, represented as indexes
-     * of the input list, that is needed later to complete merge by propagating permission from nearest parent.
+     * Resolves permissions to attribute from merged map of permissions. Attribute that is not present in the map
+     * inherits permissions of its closest ancestor, the same way attributes are treated when JSON is filtered.
      *
-     * @param permissions list of permission maps representing for example permissions per user role
-     * @return merged map of permissions per attribute sorted in reverse order by attribute name
+     * @param permissions map of permissions per attribute, as returned by {@link #merge(List)}
+     * @param attribute   attribute to resolve permissions for
+     * @return permissions to attribute, empty if neither attribute nor any of its ancestors are present in the map
      */
-    @SuppressWarnings({
-        "PMD.UseConcurrentHashMap", // TreeMap is used for a reason, concurrent map would not help
-        "PMD.AvoidInstantiatingObjectsInLoops" // There is no good way to achieve the same in functional style
-    })
-    private Map<JsonPointer, Merge> combinePermissionByAttribute(List<Map<JsonPointer, Set<Permission>>> permissions) {
-        Map<JsonPointer, Merge> mergedPermissions = new TreeMap<>(reverseOrder(comparing(Object::toString)));
-        for (int i = 0; i < permissions.size(); i++) {
-            int sourceIndex = i;
-
-            Map<JsonPointer, Set<Permission>> permissionsPerRole = permissions.get(sourceIndex);
-            permissionsPerRole.forEach((attribute, attributePermissionsPerRole) ->
-                mergedPermissions.computeIfAbsent(attribute, value -> new Merge())
-                    .permissions.put(sourceIndex, attributePermissionsPerRole));
+    public Set<Permission> getPermissions(Map<JsonPointer, Set<Permission>> permissions, JsonPointer attribute) {
+        for (JsonPointer pointer = attribute; pointer != null; pointer = pointer.head()) {
+            Set<Permission> attributePermissions = permissions.get(pointer);
+            if (attributePermissions != null) {
+                return attributePermissions;
+            }
         }
-        return mergedPermissions;
+        return PERMISSION_SETS.get(0);
     }
 
-    @SuppressWarnings("PMD.AvoidDeeplyNestedIfStmts") // Refactoring would not help much in that case
-    private void propagateParentPermissionsToClosestChild(Map<JsonPointer, Merge> attributePermissions,
-                                                          int numberOfSources) {
-        log.debug("> Attempting to propagate permissions onto child in pre-merged map: {}", attributePermissions);
-
-        attributePermissions.forEach((attribute, attributeMerge) -> {
-            if (attributeMerge.permissions.size() != numberOfSources) {
-                log.debug(">> Attribute '{}' is not fully merged - it only has {} from {} sources", attribute,
-                    attributeMerge.getCombinedPermissions(), attributeMerge.getSourceIndexes());
-
-                JsonPointer head = attribute.head();
-                while (head != null) {
-                    if (attributePermissions.containsKey(head)) {
-                        Merge parentMerge = attributePermissions.get(head);
-
-                        Map<Integer, Set<Permission>> missingPermissions = findMissingPermissions(
-                            parentMerge.permissions, attributeMerge.getSourceIndexes());
+    /**
+     * Merges more sources than can be represented by source bitset. Merge result of group of sources behaves exactly
+     * like a single source so chunks are merged first and then results of chunks are merged together.
+     */
+    private Map<JsonPointer, Set<Permission>> mergeInChunks(List<Map<JsonPointer, Set<Permission>>> permissions) {
+        List<Map<JsonPointer, Set<Permission>>> chunkResults = new ArrayList<>();
+        for (int i = 0; i < permissions.size(); i += MAX_SOURCES_PER_PASS) {
+            chunkResults.add(mergeSources(
+                permissions.subList(i, Math.min(i + MAX_SOURCES_PER_PASS, permissions.size()))));
+        }
+        return mergeSources(chunkResults);
+    }
 
-                        if (!missingPermissions.isEmpty()) {
-                            log.debug(">>> Applying permissions {} from attribute '{}' to attribute '{}'",
-                                missingPermissions, head, attribute);
-                            attributePermissions.get(attribute).permissions.putAll(missingPermissions);
-                        }
-                    }
+    /**
+     * Builds a trie of attributes where every node records which sources define the attribute and, for every
+     * permission, which of those sources grant it.
+     *
+     * @param permissions list of permission maps, no longer than {@link #MAX_SOURCES_PER_PASS}
+     * @return root node of attribute trie
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops") // Trie nodes cannot be created outside the loop
+    private MergeNode combinePermissionsByAttribute(List<Map<JsonPointer, Set<Permission>>> permissions) {
+        MergeNode root = new MergeNode();
+        for (int sourceIndex = 0; sourceIndex < permissions.size(); sourceIndex++) {
+            long sourceBit = 1L << sourceIndex;
+
+            permissions.get(sourceIndex).forEach((attribute, attributePermissions) -> {
+                MergeNode node = root;
+                for (JsonPointer pointer = attribute; !pointer.matches(); pointer = pointer.tail()) {
+                    node = node.children.computeIfAbsent(pointer.getMatchingProperty(), segment -> new MergeNode());
+                }
 
-                    head = head.head();
+                node.attribute = attribute;
+                node.definingSources |= sourceBit;
+                for (Permission permission : attributePermissions) {
+                    node.grantingSources[permission.ordinal()] |= sourceBit;
                 }
-            }
-        });
+            });
+        }
+        return root;
     }
 
     /**
-     * Finds permissions from sources that are not blacklisted.
-     *
-     * @param permissions map between source index and their permissions
-     * @param blacklistedSourceIndexes set of blacklisted source indexes
-     * @return map of permissions from non blacklisted sources
+     * Walks attribute trie from the root resolving permissions for every attribute. Sources that define attribute
+     * contribute their own permissions while remaining sources contribute permissions of the closest ancestor they
+     * define, represented by inherited granting sources.
      */
-    private Map<Integer, Set<Permission>> findMissingPermissions(Map<Integer, Set<Permission>> permissions,
-                                                                 Set<Integer> blacklistedSourceIndexes) {
-        return permissions.entrySet().stream()
-            .filter(entry -> {
-                Integer sourceIndex = entry.getKey();
-                return !blacklistedSourceIndexes.contains(sourceIndex);
-            })
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
+    private void propagateParentPermissionsToChildren(MergeNode node,
+                                                      long[] inheritedGrantingSources,
+                                                      Map<JsonPointer, Set<Permission>> mergedPermissions) {
+        int mergedPermissionsMask = 0;
+        for (int i = 0; i < PERMISSIONS.length; i++) {
+            node.grantingSources[i] |= inheritedGrantingSources[i] & ~node.definingSources;
+            if (node.grantingSources[i] != 0) {
+                mergedPermissionsMask |= PERMISSIONS[i].getValue();
+            }
+        }
 
-    @EqualsAndHashCode
-    @ToString
-    private class Merge {
-        private final Map<Integer, Set<Permission>> permissions = new ConcurrentHashMap<>();
+        if (node.attribute != null) {
+            mergedPermissions.put(node.attribute, PERMISSION_SETS.get(mergedPermissionsMask));
+        }
 
-        private Set<Integer> getSourceIndexes() {
-            return permissions.keySet();
+        for (MergeNode child : node.children.values()) {
+            propagateParentPermissionsToChildren(child, node.grantingSources, mergedPermissions);
         }
+    }
 
-        private Set<Permission> getCombinedPermissions() {
-            return permissions.values().stream().flatMap(Collection::stream).collect(Collectors.toSet());
+    /**
+     * Creates immutable sets for every possible combination of permissions, indexed by the sum of permissions.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops") // Each combination requires its own set
+    private static List<Set<Permission>> createPermissionSets() {
+        List<Set<Permission>> permissionSets = new ArrayList<>();
+        for (int mask = 0; mask < 1 << PERMISSIONS.length; mask++) {
+            Set<Permission> permissionSet = EnumSet.noneOf(Permission.class);
+            for (Permission permission : PERMISSIONS) {
+                if (permission.isGranted(mask)) {
+                    permissionSet.add(permission);
+                }
+            }
+            permissionSets.add(Collections.unmodifiableSet(permissionSet));
         }
+        return permissionSets;
+    }
+
+    private static final class MergeNode {
+        @SuppressWarnings("PMD.UseConcurrentHashMap") // Trie is local to a single merge
+        private final Map<String, MergeNode> children = new HashMap<>();
+        private final long[] grantingSources = new long[PERMISSIONS.length];
+        private JsonPointer attribute;
+        private long definingSources;
     }
 }
@@ -4,6 +4,6 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.DeclarePrecedence;
 
 @Aspect
-@DeclarePrecedence("ValidationAspect, ErrorHandlingAspect, AuditingAspect")
+@DeclarePrecedence("ValidationAspect, MetricsAspect, ErrorHandlingAspect, AuditingAspect")
 public class AspectsSuite {
 }
@@ -0,0 +1,153 @@
+package uk.gov.hmcts.reform.amlib.internal.aspects;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import uk.gov.hmcts.reform.amlib.enums.AccessType;
+import uk.gov.hmcts.reform.amlib.enums.Permission;
+import uk.gov.hmcts.reform.amlib.models.AccessEnvelope;
+import uk.gov.hmcts.reform.amlib.models.AuditEntry;
+import uk.gov.hmcts.reform.amlib.models.ExplicitAccessGrant;
+import uk.gov.hmcts.reform.amlib.models.ExplicitAccessMetadata;
+import uk.gov.hmcts.reform.amlib.models.FilteredResourceEnvelope;
+import uk.gov.hmcts.reform.amlib.models.Resource;
+import uk.gov.hmcts.reform.amlib.models.ResourceAccessEnvelope;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static uk.gov.hmcts.reform.amlib.enums.AccessType.EXPLICIT;
+
+/**
+ * Extracts resources audit events are about from arguments and results of audited methods. Resources are recognised
+ * by names and types of arguments. Collections are copied so that entries do not change once extracted.
+ */
+final class AuditEntries {
+
+    private AuditEntries() {
+        throw new UnsupportedOperationException("Constructing utility class is not supported");
+    }
+
+    /**
+     * Extracts resources audit event is about.
+     *
+     * @param parameterNames names of parameters of audited method
+     * @param args           arguments of audited method, with list audited per element replaced by the element
+     * @param result         result of audited method, or element of result list
+     * @return immutable list of entries, empty if arguments do not describe any resource
+     */
+    static List<AuditEntry> extract(String[] parameterNames, Object[] args, Object result) {
+        if (parameterNames == null || args == null) {
+            return Collections.emptyList();
+        }
+
+        AuditEntry entry = extractExplicitAccessChange(parameterNames, args);
+        if (entry == null) {
+            entry = extractResourceAccess(parameterNames, args, result);
+        }
+        return entry == null ? Collections.emptyList() : Collections.singletonList(entry);
+    }
+
+    private static AuditEntry extractExplicitAccessChange(String[] parameterNames, Object... args) {
+        Object argument = getArgument(parameterNames, args, "accessGrant");
+        if (argument instanceof ExplicitAccessGrant) {
+            ExplicitAccessGrant grant = (ExplicitAccessGrant) argument;
+            return createEntry(grant.getResourceId(), grant.getResourceDefinition(),
+                grant.getAccessorIds(), EXPLICIT, grant.getAttributePermissions());
+        }
+
+        argument = getArgument(parameterNames, args, "accessMetadata");
+        if (argument instanceof ExplicitAccessMetadata) {
+            ExplicitAccessMetadata metadata = (ExplicitAccessMetadata) argument;
+            return createEntry(metadata.getResourceId(), metadata.getResourceDefinition(),
+                Collections.singleton(metadata.getAccessorId()), EXPLICIT,
+                Collections.singletonMap(metadata.getAttribute(), Collections.emptySet()));
+        }
+        return null;
+    }
+
+    private static AuditEntry extractResourceAccess(String[] parameterNames, Object[] args, Object result) {
+        Object userId = getArgument(parameterNames, args, "userId");
+        Set<String> accessors = userId instanceof String
+            ? Collections.singleton((String) userId) : Collections.emptySet();
+        AccessEnvelope access = getAccess(result);
+
+        // Lists of resources are audited per element, with the element in place of the list
+        Object argument = getArgument(parameterNames, args, "resource");
+        if (argument == null) {
+            argument = getArgument(parameterNames, args, "resources");
+        }
+        if (argument instanceof Resource) {
+            Resource resource = (Resource) argument;
+            return createEntry(resource.getId(), resource.getDefinition(), accessors, access);
+        }
+
+        argument = getArgument(parameterNames, args, "resourceId");
+        Object resourceDefinition = getArgument(parameterNames, args, "resourceDefinition");
+        if (argument instanceof String && resourceDefinition instanceof ResourceDefinition) {
+            return createEntry((String) argument, (ResourceDefinition) resourceDefinition, accessors, access);
+        }
+        return null;
+    }
+
+    private static Object getArgument(String[] parameterNames, Object[] args, String name) {
+        for (int i = 0; i < parameterNames.length && i < args.length; i++) {
+            if (name.equals(parameterNames[i])) {
+                return args[i];
+            }
+        }
+        return null;
+    }
+
+    private static AccessEnvelope getAccess(Object result) {
+        if (result instanceof FilteredResourceEnvelope) {
+            return ((FilteredResourceEnvelope) result).getAccess();
+        }
+        if (result instanceof ResourceAccessEnvelope) {
+            return ((ResourceAccessEnvelope) result).getAccess();
+        }
+        return null;
+    }
+
+    private static AuditEntry createEntry(String resourceId,
+                                          ResourceDefinition resourceDefinition,
+                                          Collection<String> accessors,
+                                          AccessEnvelope access) {
+        return access == null
+            ? createEntry(resourceId, resourceDefinition, accessors, null, null)
+            : createEntry(resourceId, resourceDefinition, accessors, access.getAccessType(), access.getPermissions());
+    }
+
+    private static AuditEntry createEntry(String resourceId,
+                                          ResourceDefinition resourceDefinition,
+                                          Collection<String> accessors,
+                                          AccessType accessType,
+                                          Map<JsonPointer, Set<Permission>> permissions) {
+        return AuditEntry.builder()
+            .resourceId(resourceId)
+            .resourceDefinition(resourceDefinition)
+            .accessors(accessors == null
+                ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(accessors)))
+            .accessType(accessType)
+            .permissions(copyPermissions(permissions))
+            .build();
+    }
+
+    @SuppressWarnings("PMD.UseConcurrentHashMap") // Map is local and wrapped as unmodifiable
+    private static Map<JsonPointer, Set<Permission>> copyPermissions(Map<JsonPointer, Set<Permission>> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<JsonPointer, Set<Permission>> copy = new LinkedHashMap<>();
+        permissions.forEach((attribute, attributePermissions) -> copy.put(attribute,
+            attributePermissions == null || attributePermissions.isEmpty()
+                ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(attributePermissions))));
+        return Collections.unmodifiableMap(copy);
+    }
+}
@@ -15,6 +15,13 @@ public @interface AuditLog {
 
     Severity severity() default Severity.INFO;
 
+    /**
+     * Name of list parameter audited per element. When set, one message is written per element of the list, with
+     * the parameter referring to the element and {@code result} referring to element of result list at the same
+     * position.
+     */
+    String forEachElementOf() default "";
+
     enum Severity {
         DEBUG,
         INFO
@@ -2,19 +2,26 @@ package uk.gov.hmcts.reform.amlib.internal.aspects;
 
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
-import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.MDC;
-
+import uk.gov.hmcts.reform.amlib.audit.AuditSink;
+import uk.gov.hmcts.reform.amlib.audit.AuditSinks;
+import uk.gov.hmcts.reform.amlib.metrics.MetricsRecorders;
+import uk.gov.hmcts.reform.amlib.models.AuditEvent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -22,12 +29,31 @@ import java.util.regex.Pattern;
 
 import static java.lang.String.format;
 import static java.lang.String.join;
-
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.AUDIT_PHASE;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.PHASE_TIMER;
+
+/**
+ * Writes audit messages of methods annotated with {@link AuditLog} to the {@link AuditSinks#getSink() audit sink}.
+ * Templates are parsed once per method into literal segments and expressions, and messages are rendered in a single
+ * pass into a per-thread buffer. Properties referenced by expressions are read with method handles resolved once per
+ * class and field.
+ */
 @Aspect
-@Slf4j
 public class AuditingAspect {
 
     private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{\\{([^{}]+)}}");
+    private static final String PREFIX = "[Access Management audit]: ";
+    private static final String CALLER_MDC_KEY = "caller";
+    private static final int MAXIMUM_RETAINED_BUFFER_CAPACITY = 16 * 1024;
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+    private static final ClassValue<Map<String, MethodHandle>> GETTERS = new ClassValue<Map<String, MethodHandle>>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     private final Map<MethodSignature, Metadata> cache = new ConcurrentHashMap<>();
 
@@ -37,89 +63,149 @@ public class AuditingAspect {
         MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
         AuditLog auditLog = methodSignature.getMethod().getAnnotation(AuditLog.class);
 
-        if (isEnabled(auditLog.severity())) {
+        AuditSink sink = AuditSinks.getSink();
+        if (sink.isEnabled(auditLog.severity())) {
+            long start = System.nanoTime();
             Metadata metadata = cache.computeIfAbsent(methodSignature,
-                createMetadata(auditLog.value(), methodSignature.getParameterNames()));
+                createMetadata(auditLog.value(), auditLog.forEachElementOf(), methodSignature.getParameterNames()));
 
-            String template = auditLog.value();
-            for (Metadata.Expression expression : metadata.expressions) {
-                Object value;
-
-                Object beanInstance;
-                if (Keyword.MDC.matches(expression.beanName)) {
-                    beanInstance = MDC.get(expression.beanName.substring(expression.beanName.indexOf(':') + 1));
-                } else if (Keyword.RESULT.matches(expression.beanName)) {
-                    beanInstance = result;
+            StringBuilder buffer = BUFFER.get();
+            try {
+                Object[] args = joinPoint.getArgs();
+                boolean withEntries = sink.requiresEntries();
+                if (metadata.elementArgumentPosition >= 0 && args[metadata.elementArgumentPosition] instanceof List) {
+                    sink.write(createEvents(buffer, auditLog.severity(), metadata, args, result, withEntries));
                 } else {
-                    beanInstance = joinPoint.getArgs()[expression.argumentPosition];
+                    sink.write(createEvent(buffer, auditLog.severity(), metadata, args, result, withEntries));
                 }
-                if (expression.beanProperties == null) {
-                    value = beanInstance;
-                } else {
-                    value = extractValue(beanInstance, expression.beanProperties);
+            } finally {
+                if (buffer.capacity() > MAXIMUM_RETAINED_BUFFER_CAPACITY) {
+                    BUFFER.remove();
                 }
+                MetricsRecorders.getRecorder().recordTime(PHASE_TIMER, AUDIT_PHASE, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Creates one event per element of list argument, rendered as if method was called with that element in place
+     * of the list and returned result at the same position of result list.
+     */
+    private List<AuditEvent> createEvents(StringBuilder buffer, AuditLog.Severity severity, Metadata metadata,
+                                          Object[] args, Object result, boolean withEntries) {
+        List<?> elements = (List<?>) args[metadata.elementArgumentPosition];
+        List<?> results = result instanceof List ? (List<?>) result : Collections.nCopies(elements.size(), null);
+
+        Object[] elementArgs = args.clone();
+        List<AuditEvent> events = new ArrayList<>(elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            elementArgs[metadata.elementArgumentPosition] = elements.get(i);
+            events.add(createEvent(buffer, severity, metadata, elementArgs, results.get(i), withEntries));
+        }
+        return events;
+    }
+
+    /**
+     * Creates event with rendered message. Resources event is about are extracted only when sink requires them, and
+     * are copied so that event does not change if caller changes arguments or results after method returns.
+     */
+    private AuditEvent createEvent(StringBuilder buffer, AuditLog.Severity severity, Metadata metadata,
+                                   Object[] args, Object result, boolean withEntries) {
+        buffer.setLength(0);
+        buffer.append(PREFIX);
+        render(buffer, metadata, args, result);
+        return AuditEvent.builder()
+            .timestamp(Instant.now())
+            .severity(severity)
+            .method(metadata.method)
+            .caller(MDC.get(CALLER_MDC_KEY))
+            .entries(withEntries
+                ? AuditEntries.extract(metadata.parameterNames, args, result) : Collections.emptyList())
+            .message(buffer.toString())
+            .build();
+    }
+
+    private void render(StringBuilder buffer, Metadata metadata, Object[] args, Object result) {
+        for (Object segment : metadata.segments) {
+            if (segment instanceof String) {
+                buffer.append((String) segment);
+                continue;
+            }
+
+            Metadata.Expression expression = (Metadata.Expression) segment;
+            Object beanInstance;
+            if (expression.keyword == Keyword.MDC) {
+                beanInstance = MDC.get(expression.mdcKey);
+            } else if (expression.keyword == Keyword.RESULT) {
+                beanInstance = result;
+            } else {
+                beanInstance = args[expression.argumentPosition];
+            }
 
-                template = template.replace(expression.template, Objects.toString(value));
+            if (expression.beanProperties == null) {
+                buffer.append(beanInstance);
+            } else {
+                appendValue(buffer, beanInstance, expression.beanProperties);
             }
-            log(auditLog.severity(), "[Access Management audit]: " + template);
         }
     }
 
     @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops") // New objects need to be created in while loop
-    private Function<MethodSignature, Metadata> createMetadata(String template, String... parameterNames) {
+    private Function<MethodSignature, Metadata> createMetadata(String template,
+                                                               String elementArgument,
+                                                               String... parameterNames) {
         return method -> {
-            Matcher matcher = VARIABLE_PATTERN.matcher(template);
-
+            String declaringTypeName = String.valueOf(method.getDeclaringTypeName());
             Metadata instance = new Metadata();
+            instance.method = declaringTypeName.substring(declaringTypeName.lastIndexOf('.') + 1)
+                + "." + method.getName();
+            instance.parameterNames = parameterNames;
+            instance.elementArgumentPosition = elementArgument.isEmpty()
+                ? -1 : getArgumentPosition(elementArgument, parameterNames);
+            int literalStart = 0;
+            Matcher matcher = VARIABLE_PATTERN.matcher(template);
             while (matcher.find()) {
+                if (matcher.start() > literalStart) {
+                    instance.segments.add(template.substring(literalStart, matcher.start()));
+                }
+                literalStart = matcher.end();
+
                 Metadata.Expression expression = new Metadata.Expression();
-                expression.template = matcher.group(0);
-                expression.value = matcher.group(1);
+                String value = matcher.group(1);
 
-                if (expression.value.contains(".")) {
-                    expression.beanName = extractBeanName(expression.value);
-                    expression.beanProperties = extractBeanProperties(expression.value);
+                if (value.contains(".")) {
+                    expression.beanName = extractBeanName(value);
+                    expression.beanProperties = extractBeanProperties(value).split("\\.");
                 } else {
-                    expression.beanName = expression.value;
+                    expression.beanName = value;
                 }
 
-                if (!Keyword.MDC.matches(expression.beanName) && !Keyword.RESULT.matches(expression.beanName)) {
-                    expression.argumentPosition = Arrays.asList(parameterNames).indexOf(expression.beanName);
-                    if (expression.argumentPosition < 0) {
-                        String msgTemplate = "Argument '%s' does not exist among method arguments '%s'";
-                        throw new InvalidTemplateExpressionException(format(msgTemplate, expression.beanName,
-                            join(", ", parameterNames)));
-                    }
+                if (Keyword.MDC.matches(expression.beanName)) {
+                    expression.keyword = Keyword.MDC;
+                    expression.mdcKey = expression.beanName.substring(expression.beanName.indexOf(':') + 1);
+                } else if (Keyword.RESULT.matches(expression.beanName)) {
+                    expression.keyword = Keyword.RESULT;
+                } else {
+                    expression.argumentPosition = getArgumentPosition(expression.beanName, parameterNames);
                 }
 
-                instance.expressions.add(expression);
+                instance.segments.add(expression);
+            }
+            if (literalStart < template.length()) {
+                instance.segments.add(template.substring(literalStart));
             }
             return instance;
         };
     }
 
-    private boolean isEnabled(AuditLog.Severity severity) {
-        switch (severity) {
-            case DEBUG:
-                return log.isDebugEnabled();
-            case INFO:
-                return log.isInfoEnabled();
-            default:
-                throw new AuditException("Unsupported severity: " + severity);
-        }
-    }
-
-    private void log(AuditLog.Severity severity, String msg) {
-        switch (severity) {
-            case DEBUG:
-                log.debug(msg);
-                break;
-            case INFO:
-                log.info(msg);
-                break;
-            default:
-                throw new AuditException("Unsupported severity: " + severity);
+    private int getArgumentPosition(String argumentName, String... parameterNames) {
+        int position = Arrays.asList(parameterNames).indexOf(argumentName);
+        if (position < 0) {
+            String msgTemplate = "Argument '%s' does not exist among method arguments '%s'";
+            throw new InvalidTemplateExpressionException(format(msgTemplate, argumentName,
+                join(", ", parameterNames)));
         }
+        return position;
     }
 
     /**
@@ -136,27 +222,42 @@ public class AuditingAspect {
         return expression.substring(0, expression.indexOf('.'));
     }
 
-    private Object extractValue(Object object, String path) {
-        if (object == null) {
-            return null;
+    private void appendValue(StringBuilder buffer, Object object, String... fragments) {
+        Object result = object;
+        for (int i = 0; i < fragments.length && result != null; i++) {
+            result = readProperty(result, fragments[i], object, fragments);
         }
+        buffer.append(result);
+    }
 
-        Object result = object;
-        for (String fragment : path.split("\\.")) {
-            if (result == null) {
-                break;
-            }
-            try {
-                Field field = result.getClass().getDeclaredField(fragment);
-                field.setAccessible(true);
-                result = field.get(result);
-            } catch (Exception e) {
-                String msgTemplate = "Cannot find fragment %s in expression %s against instance of %s";
-                throw new InvalidTemplateExpressionException(format(msgTemplate, fragment, path, object.getClass()), e);
-            }
+    @SuppressWarnings("PMD.AvoidCatchingThrowable") // Method handle invocation declares Throwable
+    private Object readProperty(Object instance, String fragment, Object object, String... fragments) {
+        MethodHandle getter;
+        try {
+            getter = getGetter(instance.getClass(), fragment);
+        } catch (Exception e) {
+            String msgTemplate = "Cannot find fragment %s in expression %s against instance of %s";
+            throw new InvalidTemplateExpressionException(
+                format(msgTemplate, fragment, join(".", fragments), object.getClass()), e);
         }
 
-        return result;
+        try {
+            return (Object) getter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw new AuditException("Cannot read fragment " + fragment + " of instance of " + instance.getClass(), e);
+        }
+    }
+
+    private MethodHandle getGetter(Class<?> type, String fieldName) throws ReflectiveOperationException {
+        Map<String, MethodHandle> getters = GETTERS.get(type);
+        MethodHandle getter = getters.get(fieldName);
+        if (getter == null) {
+            Field field = type.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            getter = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+            getters.put(fieldName, getter);
+        }
+        return getter;
     }
 
     private enum Keyword {
@@ -177,16 +278,25 @@ public class AuditingAspect {
     @EqualsAndHashCode
     @ToString
     private static class Metadata {
-        private final List<Expression> expressions = new ArrayList<>();
+        /**
+         * Literal parts of template as strings interleaved with expressions, in order of appearance in template.
+         */
+        private final List<Object> segments = new ArrayList<>();
+        private String method;
+        private String[] parameterNames;
+        /**
+         * Position of list argument audited per element, or -1 if method is audited once per call.
+         */
+        private int elementArgumentPosition;
 
         @EqualsAndHashCode
         @ToString
         private static class Expression {
-            private String value;
-            private String template;
             private String beanName;
-            private String beanProperties;
-            private Integer argumentPosition;
+            private String[] beanProperties;
+            private Keyword keyword;
+            private String mdcKey;
+            private int argumentPosition;
         }
     }
 
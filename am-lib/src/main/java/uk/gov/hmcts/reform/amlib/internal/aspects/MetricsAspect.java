@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.amlib.internal.aspects;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import uk.gov.hmcts.reform.amlib.metrics.MetricsRecorder;
+import uk.gov.hmcts.reform.amlib.metrics.MetricsRecorders;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.METHOD_TIMER;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.NULL_RESULT_COUNTER;
+
+@Aspect
+public class MetricsAspect {
+
+    private final Map<JoinPoint.StaticPart, Metadata> metadataCache = new ConcurrentHashMap<>();
+
+    @Around("execution(public * uk.gov.hmcts.reform.amlib.*Service.*(..))")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        Metadata metadata = metadataCache.computeIfAbsent(joinPoint.getStaticPart(), this::createMetadata);
+        MetricsRecorder recorder = MetricsRecorders.getRecorder();
+
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            if (result == null && metadata.returnsValue) {
+                recorder.increment(NULL_RESULT_COUNTER, metadata.tag);
+            }
+            return result;
+        } finally {
+            recorder.recordTime(METHOD_TIMER, metadata.tag, System.nanoTime() - start);
+        }
+    }
+
+    private Metadata createMetadata(JoinPoint.StaticPart staticPart) {
+        MethodSignature signature = (MethodSignature) staticPart.getSignature();
+        return new Metadata(signature.getDeclaringType().getSimpleName() + "." + signature.getName(),
+            signature.getReturnType() != void.class);
+    }
+
+    /**
+     * Metrics metadata of a method computed on its first call.
+     */
+    private static final class Metadata {
+        private final String tag;
+        private final boolean returnsValue;
+
+        private Metadata(String tag, boolean returnsValue) {
+            this.tag = tag;
+            this.returnsValue = returnsValue;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package uk.gov.hmcts.reform.amlib.internal.aspects;
+
+import uk.gov.hmcts.reform.amlib.models.Resource;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hand written equivalents of constraints declared on parameters of filtering methods, which are called for every
+ * resource and would otherwise be dominated by cost of walking constraint metadata. Checks only confirm that
+ * arguments are valid; arguments that fail them are validated by Hibernate Validator, so that violations are
+ * reported the same way as for any other method.
+ */
+final class ParameterChecks {
+
+    /**
+     * Characters up to and including space are removed by {@link String#trim()} used by {@code @NotBlank}.
+     */
+    private static final char LAST_TRIMMED_CHARACTER = ' ';
+
+    /**
+     * Check of a single argument.
+     */
+    @FunctionalInterface
+    interface ParameterCheck {
+        /**
+         * Returns whether argument is valid.
+         *
+         * @param argument the argument to check
+         * @param deep     whether content of resources should be checked
+         * @return true if argument is valid, false if it might be invalid
+         */
+        boolean isValid(Object argument, boolean deep);
+    }
+
+    private ParameterChecks() {
+        throw new UnsupportedOperationException("Constructing utility class is not supported");
+    }
+
+    /**
+     * Returns checks of parameters of filtering method, which constrain strings not to be blank, sets of roles not
+     * to be empty, lists of resources to contain valid resources and remaining parameters not to be null.
+     *
+     * @param parameterTypes types of parameters of filtering method
+     * @return checks of every parameter
+     */
+    static ParameterCheck[] forFilterResource(Class<?>... parameterTypes) {
+        ParameterCheck[] checks = new ParameterCheck[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            checks[i] = forFilterResourceParameter(parameterTypes[i]);
+        }
+        return checks;
+    }
+
+    private static ParameterCheck forFilterResourceParameter(Class<?> parameterType) {
+        if (parameterType == String.class) {
+            return (argument, deep) -> isNotBlank(argument);
+        } else if (parameterType == Set.class) {
+            return (argument, deep) -> isNotEmptyWithNotBlankElements(argument);
+        } else if (parameterType == List.class) {
+            return ParameterChecks::isListOfValidResources;
+        } else if (parameterType == Resource.class) {
+            return ParameterChecks::isValidResource;
+        } else if (parameterType == ResourceDefinition.class) {
+            return ParameterChecks::isValidResourceDefinition;
+        }
+        return (argument, deep) -> argument != null;
+    }
+
+    private static boolean isListOfValidResources(Object argument, boolean deep) {
+        if (!(argument instanceof List)) {
+            return false;
+        }
+        for (Object element : (List<?>) argument) {
+            if (!isValidResource(element, deep)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidResource(Object argument, boolean deep) {
+        if (!(argument instanceof Resource)) {
+            return false;
+        }
+        if (!deep) {
+            return true;
+        }
+        Resource resource = (Resource) argument;
+        return isNotBlank(resource.getId())
+            && isValidResourceDefinition(resource.getDefinition(), true)
+            && resource.getData() != null;
+    }
+
+    private static boolean isValidResourceDefinition(Object argument, boolean deep) {
+        if (!(argument instanceof ResourceDefinition)) {
+            return false;
+        }
+        if (!deep) {
+            return true;
+        }
+        ResourceDefinition resourceDefinition = (ResourceDefinition) argument;
+        return isNotBlank(resourceDefinition.getServiceName())
+            && isNotBlank(resourceDefinition.getResourceType())
+            && isNotBlank(resourceDefinition.getResourceName());
+    }
+
+    private static boolean isNotEmptyWithNotBlankElements(Object argument) {
+        if (!(argument instanceof Collection) || ((Collection<?>) argument).isEmpty()) {
+            return false;
+        }
+        for (Object element : (Collection<?>) argument) {
+            if (!isNotBlank(element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNotBlank(Object argument) {
+        if (!(argument instanceof String)) {
+            return false;
+        }
+        String value = (String) argument;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > LAST_TRIMMED_CHARACTER) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -4,45 +4,93 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.hibernate.validator.HibernateValidator;
-import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import uk.gov.hmcts.reform.amlib.AccessManagementService;
+import uk.gov.hmcts.reform.amlib.ValidationSettings;
+import uk.gov.hmcts.reform.amlib.enums.ValidationMode;
+import uk.gov.hmcts.reform.amlib.internal.aspects.ParameterChecks.ParameterCheck;
+import uk.gov.hmcts.reform.amlib.internal.utils.Validators;
+import uk.gov.hmcts.reform.amlib.metrics.MetricsRecorders;
 
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.validation.ConstraintViolation;
-import javax.validation.Validation;
 import javax.validation.executable.ExecutableValidator;
+import javax.validation.metadata.MethodDescriptor;
 
-import static java.util.stream.Collectors.joining;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.PHASE_TIMER;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.VALIDATION_PHASE;
 
 @Aspect
 public class ValidationAspect {
 
-    private final ExecutableValidator executableValidator = Validation.byProvider(HibernateValidator.class)
-        .configure()
-        .messageInterpolator(new ParameterMessageInterpolator())
-        .buildValidatorFactory()
-        .getValidator()
-        .forExecutables();
+    private static final ParameterCheck[] NO_CHECKS = new ParameterCheck[0];
+
+    private final ExecutableValidator executableValidator = Validators.getValidator().forExecutables();
+    private final Map<Method, Metadata> metadataCache = new ConcurrentHashMap<>();
 
     @Around("execution(public * uk.gov.hmcts.reform.amlib.*Service.*(..))")
     public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
-        Set<ConstraintViolation<Object>> violations = validate(joinPoint);
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Metadata metadata = metadataCache.computeIfAbsent(method, this::createMetadata);
 
-        if (!violations.isEmpty()) {
-            String messages = violations.stream().map(this::toMessage).collect(joining("; "));
-            throw new IllegalArgumentException(messages);
+        long start = System.nanoTime();
+        try {
+            validate(joinPoint, method, metadata);
+        } finally {
+            MetricsRecorders.getRecorder().recordTime(PHASE_TIMER, VALIDATION_PHASE, System.nanoTime() - start);
         }
 
         return joinPoint.proceed();
     }
 
-    private Set<ConstraintViolation<Object>> validate(ProceedingJoinPoint joinPoint) {
-        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
-        return executableValidator.validateParameters(joinPoint.getTarget(), method, joinPoint.getArgs());
+    private void validate(ProceedingJoinPoint joinPoint, Method method, Metadata metadata) {
+        if (metadata.constrained && !passesChecks(metadata, joinPoint.getArgs())) {
+            Set<ConstraintViolation<Object>> violations =
+                executableValidator.validateParameters(joinPoint.getTarget(), method, joinPoint.getArgs());
+
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(Validators.toMessage(violations));
+            }
+        }
+    }
+
+    private boolean passesChecks(Metadata metadata, Object... args) {
+        if (metadata.checks.length == 0) {
+            return false;
+        }
+        boolean deep = ValidationSettings.getMode() == ValidationMode.FULL;
+        for (int i = 0; i < metadata.checks.length; i++) {
+            if (!metadata.checks[i].isValid(args[i], deep)) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private String toMessage(ConstraintViolation<Object> violation) {
-        return violation.getPropertyPath() + " - " + violation.getMessage();
+    private Metadata createMetadata(Method method) {
+        MethodDescriptor descriptor = Validators.getValidator()
+            .getConstraintsForClass(method.getDeclaringClass())
+            .getConstraintsForMethod(method.getName(), method.getParameterTypes());
+        boolean constrained = descriptor != null && descriptor.hasConstrainedParameters();
+
+        boolean filtering = method.getDeclaringClass() == AccessManagementService.class
+            && "filterResource".equals(method.getName());
+        return new Metadata(constrained,
+            filtering ? ParameterChecks.forFilterResource(method.getParameterTypes()) : NO_CHECKS);
+    }
+
+    /**
+     * Validation metadata of a method computed on its first call.
+     */
+    private static final class Metadata {
+        private final boolean constrained;
+        private final ParameterCheck[] checks;
+
+        private Metadata(boolean constrained, ParameterCheck... checks) {
+            this.constrained = constrained;
+            this.checks = checks.clone();
+        }
     }
 }
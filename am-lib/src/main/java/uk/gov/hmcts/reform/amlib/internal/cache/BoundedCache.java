@@ -0,0 +1,183 @@
+package uk.gov.hmcts.reform.amlib.internal.cache;
+
+import uk.gov.hmcts.reform.amlib.models.CacheStatistics;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Simple thread safe cache that holds up to configured number of entries evicting least recently used entry
+ * when capacity is exceeded. Optionally entries expire once configured time to live elapses since they were cached.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of cached values
+ */
+public class BoundedCache<K, V> {
+
+    private final Map<K, Entry<V>> entries;
+    private final long timeToLiveNanos;
+    private final LongSupplier clock;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Creates cache which entries never expire.
+     *
+     * @param maximumSize maximum number of cached entries
+     */
+    public BoundedCache(int maximumSize) {
+        this(maximumSize, Long.MAX_VALUE, System::nanoTime);
+    }
+
+    /**
+     * Creates cache which entries expire after specified time.
+     *
+     * @param maximumSize maximum number of cached entries
+     * @param timeToLive  time after which cached entry expires
+     */
+    public BoundedCache(int maximumSize, Duration timeToLive) {
+        this(maximumSize, toNanos(timeToLive), System::nanoTime);
+    }
+
+    BoundedCache(int maximumSize, Duration timeToLive, LongSupplier clock) {
+        this(maximumSize, toNanos(timeToLive), clock);
+    }
+
+    private BoundedCache(int maximumSize, long timeToLiveNanos, LongSupplier clock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum cache size must be positive but was " + maximumSize);
+        }
+        this.entries = new LeastRecentlyUsedMap<>(maximumSize);
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.clock = clock;
+    }
+
+    private static long toNanos(Duration timeToLive) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Cache time to live must be positive but was " + timeToLive);
+        }
+        return timeToLive.toNanos();
+    }
+
+    public V get(K key) {
+        V value = getIfPresent(key);
+        if (value == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return value;
+    }
+
+    private V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (isExpired(entry)) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, isExpiring() ? clock.getAsLong() : 0);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Returns cached value or computes, caches and returns a new one if value is not cached yet.
+     *
+     * @implNote
+     * Value is computed outside of lock so concurrent callers may compute the same value more than once.
+     * Loader should therefore be side effect free.
+     *
+     * @param key    the key of value
+     * @param loader the function computing value when there is no cached value for the key
+     * @return cached or newly computed value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateIf(Predicate<? super K> predicate) {
+        synchronized (entries) {
+            entries.keySet().removeIf(predicate);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public CacheStatistics getStatistics() {
+        return CacheStatistics.builder()
+            .hitCount(hitCount.get())
+            .missCount(missCount.get())
+            .size(size())
+            .build();
+    }
+
+    private boolean isExpiring() {
+        return timeToLiveNanos != Long.MAX_VALUE;
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return isExpiring() && clock.getAsLong() - entry.cachedAt >= timeToLiveNanos;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long cachedAt;
+
+        private Entry(V value, long cachedAt) {
+            this.value = value;
+            this.cachedAt = cachedAt;
+        }
+    }
+
+    private static final class LeastRecentlyUsedMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maximumSize;
+
+        private LeastRecentlyUsedMap(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maximumSize;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package uk.gov.hmcts.reform.amlib.internal.cache;
+
+import uk.gov.hmcts.reform.amlib.internal.models.query.AttributeData;
+import uk.gov.hmcts.reform.amlib.models.CacheStatistics;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache of default permissions snapshots keyed by resource definition. Snapshot of a resource definition holds
+ * default permissions of all roles so that role based access can be resolved without hitting the database.
+ *
+ * <p>Default permissions change only when they are granted or revoked, therefore affected snapshots in all caches
+ * in the JVM are invalidated when that happens. Changes made by other JVMs become visible once snapshots expire,
+ * or as soon as they are notified when {@link uk.gov.hmcts.reform.amlib.CacheInvalidationListener} runs.
+ */
+public class DefaultPermissionsCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private static final Set<DefaultPermissionsCache> INSTANCES = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final BoundedCache<ResourceDefinition, DefaultPermissionsSnapshot> snapshots;
+    /**
+     * Guards invalidation and caching of loaded snapshots, so that a snapshot is never cached after invalidation
+     * that happened while it was being loaded.
+     */
+    private final Object lock = new Object();
+    private final AtomicLong generation = new AtomicLong();
+
+    public DefaultPermissionsCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Creates default permissions cache registered for invalidation of all default permissions caches.
+     *
+     * @param maximumSize maximum number of cached resource definitions
+     * @param timeToLive  time after which cached snapshot expires
+     */
+    public DefaultPermissionsCache(int maximumSize, Duration timeToLive) {
+        this.snapshots = new BoundedCache<>(maximumSize, timeToLive);
+        synchronized (INSTANCES) {
+            INSTANCES.add(this);
+        }
+    }
+
+    /**
+     * Invalidates all snapshots in all default permissions caches created in the JVM.
+     */
+    public static void invalidateAllInstances() {
+        synchronized (INSTANCES) {
+            INSTANCES.forEach(DefaultPermissionsCache::invalidateAll);
+        }
+    }
+
+    /**
+     * Invalidates snapshots of matching resource definitions in all default permissions caches created in the JVM.
+     *
+     * @param predicate the predicate matching resource definitions to invalidate
+     */
+    public static void invalidateAllInstances(Predicate<ResourceDefinition> predicate) {
+        synchronized (INSTANCES) {
+            INSTANCES.forEach(instance -> instance.invalidate(predicate));
+        }
+    }
+
+    /**
+     * Returns snapshot of default permissions for resource definition, loading it if it is not cached yet.
+     *
+     * @param resourceDefinition the definition of resource
+     * @param loader             the function loading default permissions of all roles to resource definition
+     * @return snapshot of default permissions
+     */
+    public DefaultPermissionsSnapshot getSnapshot(ResourceDefinition resourceDefinition,
+                                                  Function<ResourceDefinition, List<AttributeData>> loader) {
+        DefaultPermissionsSnapshot snapshot = snapshots.get(resourceDefinition);
+        if (snapshot == null) {
+            long loadedGeneration = generation.get();
+            snapshot = DefaultPermissionsSnapshot.fromAttributeData(loader.apply(resourceDefinition));
+            synchronized (lock) {
+                if (generation.get() == loadedGeneration) {
+                    snapshots.put(resourceDefinition, snapshot);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Removes snapshots of matching resource definitions. Snapshots being loaded concurrently are not cached
+     * as they might be already stale.
+     *
+     * @param predicate the predicate matching resource definitions to remove
+     */
+    public void invalidate(Predicate<ResourceDefinition> predicate) {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            snapshots.invalidateIf(predicate);
+        }
+    }
+
+    /**
+     * Removes all snapshots. Snapshots being loaded concurrently are not cached as they might be already stale.
+     */
+    public void invalidateAll() {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            snapshots.invalidateAll();
+        }
+    }
+
+    public CacheStatistics getStatistics() {
+        return snapshots.getStatistics();
+    }
+}
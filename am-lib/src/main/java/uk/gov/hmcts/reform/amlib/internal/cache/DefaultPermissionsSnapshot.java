@@ -0,0 +1,64 @@
+package uk.gov.hmcts.reform.amlib.internal.cache;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import uk.gov.hmcts.reform.amlib.enums.Permission;
+import uk.gov.hmcts.reform.amlib.internal.models.query.AttributeData;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Immutable snapshot of default permissions configured for all roles of a single resource definition.
+ */
+public final class DefaultPermissionsSnapshot {
+
+    private final Map<String, List<AttributeData>> attributeDataByRole;
+    private final Map<String, Map<JsonPointer, Set<Permission>>> permissionsByRole;
+
+    private DefaultPermissionsSnapshot(Map<String, List<AttributeData>> attributeDataByRole) {
+        this.attributeDataByRole = attributeDataByRole;
+        this.permissionsByRole = attributeDataByRole.entrySet().stream()
+            .collect(collectingAndThen(toMap(Map.Entry::getKey, entry -> entry.getValue().stream()
+                .collect(collectingAndThen(toMap(AttributeData::getAttribute, AttributeData::getPermissions),
+                    Collections::unmodifiableMap))), Collections::unmodifiableMap));
+    }
+
+    /**
+     * Creates snapshot from default permissions of all roles to a resource definition.
+     *
+     * @param attributeData attribute permissions and security classifications of all roles
+     * @return snapshot
+     */
+    public static DefaultPermissionsSnapshot fromAttributeData(List<AttributeData> attributeData) {
+        return new DefaultPermissionsSnapshot(attributeData.stream()
+            .collect(collectingAndThen(groupingBy(AttributeData::getRoleName,
+                collectingAndThen(toList(), Collections::unmodifiableList)), Collections::unmodifiableMap)));
+    }
+
+    /**
+     * Returns permissions per attribute configured for a role.
+     *
+     * @param roleName the name of role
+     * @return map of permissions per attribute, empty if role has no default permissions
+     */
+    public Map<JsonPointer, Set<Permission>> getPermissions(String roleName) {
+        return permissionsByRole.getOrDefault(roleName, Collections.emptyMap());
+    }
+
+    /**
+     * Returns permissions and default security classifications of attributes configured for a role.
+     *
+     * @param roleName the name of role
+     * @return list of attribute data, empty if role has no default permissions
+     */
+    public List<AttributeData> getAttributeData(String roleName) {
+        return attributeDataByRole.getOrDefault(roleName, Collections.emptyList());
+    }
+}
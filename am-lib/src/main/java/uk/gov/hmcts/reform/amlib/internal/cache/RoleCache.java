@@ -0,0 +1,142 @@
+package uk.gov.hmcts.reform.amlib.internal.cache;
+
+import uk.gov.hmcts.reform.amlib.internal.models.Role;
+import uk.gov.hmcts.reform.amlib.models.CacheStatistics;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Cache of role metadata keyed by role name. Roles that do not exist are cached as well so that requests
+ * made with roles not configured in Access Management do not hit the database either.
+ *
+ * <p>Roles change only when they are added or deleted, therefore all role caches in the JVM are invalidated
+ * by {@link #invalidateAllInstances()} when that happens. Changes made by other JVMs become visible once entries
+ * expire, or as soon as they are notified when {@link uk.gov.hmcts.reform.amlib.CacheInvalidationListener} runs.
+ */
+public class RoleCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private static final Set<RoleCache> INSTANCES = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final BoundedCache<String, Optional<Role>> roles;
+    /**
+     * Guards invalidation and caching of loaded roles, so that no role of a loaded batch is cached after invalidation
+     * that happened while the batch was being loaded.
+     */
+    private final Object lock = new Object();
+    private final AtomicLong generation = new AtomicLong();
+
+    public RoleCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Creates role cache registered for invalidation of all role caches.
+     *
+     * @param maximumSize maximum number of cached roles
+     * @param timeToLive  time after which cached role expires
+     */
+    public RoleCache(int maximumSize, Duration timeToLive) {
+        this.roles = new BoundedCache<>(maximumSize, timeToLive);
+        synchronized (INSTANCES) {
+            INSTANCES.add(this);
+        }
+    }
+
+    /**
+     * Invalidates all role caches created in the JVM.
+     */
+    public static void invalidateAllInstances() {
+        synchronized (INSTANCES) {
+            INSTANCES.forEach(RoleCache::invalidateAll);
+        }
+    }
+
+    /**
+     * Invalidates role in all role caches created in the JVM.
+     *
+     * @param roleName the name of role to invalidate
+     */
+    public static void invalidateAllInstances(String roleName) {
+        synchronized (INSTANCES) {
+            INSTANCES.forEach(instance -> instance.invalidate(roleName));
+        }
+    }
+
+    /**
+     * Returns roles for given role names, loading roles that are not cached yet with a single loader call.
+     *
+     * @param roleNames role names to look up
+     * @param loader    the function loading existing roles for role names that are not cached
+     * @return roles that exist among requested role names
+     */
+    public Set<Role> getRoles(Set<String> roleNames, Function<Set<String>, Set<Role>> loader) {
+        Set<Role> result = new HashSet<>();
+        Set<String> missingRoleNames = new HashSet<>();
+        for (String roleName : roleNames) {
+            Optional<Role> role = roles.get(roleName);
+            if (role == null) {
+                missingRoleNames.add(roleName);
+            } else {
+                role.ifPresent(result::add);
+            }
+        }
+
+        if (!missingRoleNames.isEmpty()) {
+            long loadedGeneration = generation.get();
+            Map<String, Role> loadedRoles = loader.apply(missingRoleNames).stream()
+                .collect(toMap(Role::getRoleName, identity()));
+
+            synchronized (lock) {
+                boolean current = generation.get() == loadedGeneration;
+                for (String roleName : missingRoleNames) {
+                    Optional<Role> role = Optional.ofNullable(loadedRoles.get(roleName));
+                    if (current) {
+                        roles.put(roleName, role);
+                    }
+                    role.ifPresent(result::add);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes cached role. Roles being loaded concurrently are not cached as they might be already stale.
+     *
+     * @param roleName the name of role to remove
+     */
+    public void invalidate(String roleName) {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            roles.invalidate(roleName);
+        }
+    }
+
+    /**
+     * Removes all cached roles. Roles being loaded concurrently are not cached as they might be already stale.
+     */
+    public void invalidateAll() {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            roles.invalidateAll();
+        }
+    }
+
+    public CacheStatistics getStatistics() {
+        return roles.getStatistics();
+    }
+}
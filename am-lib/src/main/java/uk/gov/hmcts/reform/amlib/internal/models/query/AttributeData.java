@@ -13,6 +13,7 @@ import java.util.Set;
 @Builder
 @AllArgsConstructor
 public final class AttributeData {
+    private final String roleName;
     private final JsonPointer attribute;
     private final SecurityClassification defaultSecurityClassification;
     private final Set<Permission> permissions;
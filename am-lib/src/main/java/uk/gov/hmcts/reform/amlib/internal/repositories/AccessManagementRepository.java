@@ -4,13 +4,13 @@ import org.jdbi.v3.sqlobject.config.RegisterColumnMapper;
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
 import org.jdbi.v3.sqlobject.customizer.BindList;
+import org.jdbi.v3.sqlobject.statement.BatchChunkSize;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
-import uk.gov.hmcts.reform.amlib.enums.AccessType;
 import uk.gov.hmcts.reform.amlib.enums.SecurityClassification;
 import uk.gov.hmcts.reform.amlib.internal.models.ExplicitAccessRecord;
 import uk.gov.hmcts.reform.amlib.internal.models.Role;
-import uk.gov.hmcts.reform.amlib.internal.models.RoleBasedAccessRecord;
 import uk.gov.hmcts.reform.amlib.internal.models.query.AttributeData;
 import uk.gov.hmcts.reform.amlib.internal.repositories.mappers.JsonPointerMapper;
 import uk.gov.hmcts.reform.amlib.internal.repositories.mappers.PermissionSetMapper;
@@ -25,40 +25,57 @@ import java.util.Set;
 @RegisterColumnMapper(PermissionSetMapper.class)
 public interface AccessManagementRepository {
 
-    @SqlUpdate("insert into access_management (resource_id, accessor_id, permissions, accessor_type, service_name, resource_type, resource_name, attribute, relationship) "
-        + "values (:resourceId, :accessorId, :permissionsAsInt, cast(:accessorType as accessor_type), :serviceName, :resourceType, :resourceName, :attributeAsString, :relationship)"
+    @SqlBatch("insert into access_management (resource_id, accessor_id, permissions, accessor_type, resource_definition_id, attribute, relationship) "
+        + "values (:resourceId, :accessorId, :permissionsAsInt, cast(:accessorType as accessor_type), (select id from resources where service_name = :serviceName and resource_type = :resourceType and resource_name = :resourceName), :attributeAsString, :relationship)"
         + "on conflict on constraint access_management_unique do update set permissions = :permissionsAsInt")
-    void createAccessManagementRecord(@BindBean ExplicitAccessRecord explicitAccessRecord);
+    void createAccessManagementRecords(@BindBean Iterable<ExplicitAccessRecord> explicitAccessRecords, @BatchChunkSize int batchSize);
+
+    @SqlUpdate("create temporary table access_management_staging (ordinal bigserial, resource_id text, accessor_id text, permissions int, accessor_type text, service_name text, resource_type text, resource_name text, attribute text, relationship text) "
+        + "on commit drop")
+    void createExplicitAccessStagingTable();
+
+    /**
+     * Merges records copied into staging table into access management table. When staging table contains the same
+     * record more than once the one copied last wins, as if records were granted one after another.
+     *
+     * @return number of inserted or updated records
+     */
+    @SqlUpdate("insert into access_management (resource_id, accessor_id, permissions, accessor_type, resource_definition_id, attribute, relationship) "
+        + "select distinct on (s.resource_id, s.accessor_id, s.accessor_type, s.attribute, s.resource_type, s.service_name, s.resource_name, s.relationship) "
+        + "s.resource_id, s.accessor_id, s.permissions, cast(s.accessor_type as accessor_type), r.id, s.attribute, s.relationship "
+        + "from access_management_staging s left join resources r on r.service_name = s.service_name and r.resource_type = s.resource_type and r.resource_name = s.resource_name "
+        + "order by s.resource_id, s.accessor_id, s.accessor_type, s.attribute, s.resource_type, s.service_name, s.resource_name, s.relationship, s.ordinal desc "
+        + "on conflict on constraint access_management_unique do update set permissions = excluded.permissions")
+    int mergeExplicitAccessStagingTable();
 
     @SqlUpdate("delete from access_management where "
         + "access_management.resource_id = :resourceId "
         + "and access_management.accessor_id = :accessorId "
         + "and access_management.accessor_type = cast(:accessorType as accessor_type) "
-        + "and access_management.service_name = :resourceDefinition.serviceName "
-        + "and access_management.resource_type = :resourceDefinition.resourceType "
-        + "and access_management.resource_name = :resourceDefinition.resourceName "
+        + "and access_management.resource_definition_id = (select id from resources where service_name = :resourceDefinition.serviceName and resource_type = :resourceDefinition.resourceType and resource_name = :resourceDefinition.resourceName) "
         + "and (:relationship is null or access_management.relationship = :relationship) "
-        + "and (access_management.attribute = :attributeAsString or access_management.attribute like concat(:attributeAsString, '/', '%'))")
+        + "and (access_management.attribute = :attributeAsString or access_management.attribute like :attributeAsString || '/%')")
     void removeAccessManagementRecord(@BindBean ExplicitAccessMetadata explicitAccessMetadata);
 
-    @SqlQuery("select * from access_management where accessor_id=? and resource_id=?")
+    @SqlQuery("select am.*, r.service_name, r.resource_type, r.resource_name from access_management am join resources r on r.id = am.resource_definition_id"
+        + " where am.accessor_id = ? and am.resource_id = ?")
     @RegisterConstructorMapper(ExplicitAccessRecord.class)
     List<ExplicitAccessRecord> getExplicitAccess(String accessorId, String resourceId);
 
-    @SuppressWarnings("PMD.UseObjectForClearerAPI") // More than 3 parameters makes sense for now, subject to change
-    @SqlQuery("select * from default_permissions_for_roles where service_name = :serviceName and resource_type = :resourceType and resource_name = :resourceName and role_name = :roleName")
-    @RegisterConstructorMapper(RoleBasedAccessRecord.class)
-    List<RoleBasedAccessRecord> getRolePermissions(@BindBean ResourceDefinition resourceDefinition, String roleName);
+    @SqlQuery("select am.*, r.service_name, r.resource_type, r.resource_name from access_management am join resources r on r.id = am.resource_definition_id"
+        + " where am.accessor_id = :accessorId and am.resource_id in (<resourceIds>)")
+    @RegisterConstructorMapper(ExplicitAccessRecord.class)
+    List<ExplicitAccessRecord> getExplicitAccess(String accessorId, @BindList Set<String> resourceIds);
 
-    @SqlQuery("select distinct d.attribute, d.permissions, ra.default_security_classification from default_permissions_for_roles d"
+    @SqlQuery("select d.role_name, d.attribute, d.permissions, ra.default_security_classification from default_permissions_for_roles d"
         + " join resource_attributes ra on d.service_name = ra.service_name and d.resource_type = ra.resource_type and d.resource_name = ra.resource_name and d.attribute = ra.attribute"
-        + " where d.service_name = :serviceName and d.resource_Type = :resourceType and d.resource_name = :resourceName and d.role_name = :roleName and cast(default_security_classification as text) in (<securityClassifications>)")
+        + " where d.service_name = :serviceName and d.resource_type = :resourceType and d.resource_name = :resourceName")
     @RegisterConstructorMapper(AttributeData.class)
-    List<AttributeData> getAttributeDataForResource(@BindBean ResourceDefinition resourceDefinition, String roleName, @BindList Set<SecurityClassification> securityClassifications);
+    List<AttributeData> getAttributeDataForResource(@BindBean ResourceDefinition resourceDefinition);
 
-    @SqlQuery("select * from roles where role_name in (<userRoles>) and cast(access_type as text) in (<accessTypes>)")
+    @SqlQuery("select * from roles where role_name in (<roleNames>)")
     @RegisterConstructorMapper(Role.class)
-    Set<Role> getRoles(@BindList Set<String> userRoles, @BindList Set<AccessType> accessTypes);
+    Set<Role> getRoles(@BindList Set<String> roleNames);
 
     @SqlQuery("select distinct default_perms.service_name, default_perms.resource_type, default_perms.resource_name from default_permissions_for_roles default_perms"
         + " join resource_attributes as resource on default_perms.service_name = resource.service_name and default_perms.resource_type = resource.resource_type and default_perms.resource_name = resource.resource_name"
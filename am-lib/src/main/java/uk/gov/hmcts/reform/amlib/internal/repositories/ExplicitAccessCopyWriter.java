@@ -0,0 +1,100 @@
+package uk.gov.hmcts.reform.amlib.internal.repositories;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import uk.gov.hmcts.reform.amlib.internal.models.ExplicitAccessRecord;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+/**
+ * Streams explicit access records into staging table created by
+ * {@link AccessManagementRepository#createExplicitAccessStagingTable()} using PostgreSQL COPY protocol.
+ *
+ * <p>Records are encoded in COPY text format and sent in chunks so that memory usage does not depend on number
+ * of records.
+ */
+public final class ExplicitAccessCopyWriter {
+
+    static final String COPY_SQL = "copy access_management_staging (resource_id, accessor_id, permissions, "
+        + "accessor_type, service_name, resource_type, resource_name, attribute, relationship) from stdin";
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final char COLUMN_SEPARATOR = '\t';
+    private static final char ROW_SEPARATOR = '\n';
+    private static final char CARRIAGE_RETURN = '\r';
+    private static final char ESCAPE = '\\';
+
+    private ExplicitAccessCopyWriter() {
+        throw new UnsupportedOperationException("Constructing utility class is not supported");
+    }
+
+    /**
+     * Copies records into staging table. Copy is cancelled if any record cannot be read or written.
+     *
+     * @param copyManager copy API of connection staging table has been created with
+     * @param records     records to copy
+     * @return number of copied records
+     * @throws SQLException if copy fails
+     */
+    public static long copy(CopyManager copyManager, Iterator<ExplicitAccessRecord> records) throws SQLException {
+        CopyIn copyIn = copyManager.copyIn(COPY_SQL);
+        try {
+            StringBuilder chunk = new StringBuilder(CHUNK_SIZE + CHUNK_SIZE / 4);
+            while (records.hasNext()) {
+                appendRecord(chunk, records.next());
+                if (chunk.length() >= CHUNK_SIZE) {
+                    write(copyIn, chunk);
+                }
+            }
+            write(copyIn, chunk);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    static void appendRecord(StringBuilder chunk, ExplicitAccessRecord record) {
+        appendColumn(chunk, record.getResourceId()).append(COLUMN_SEPARATOR);
+        appendColumn(chunk, record.getAccessorId()).append(COLUMN_SEPARATOR);
+        chunk.append(record.getPermissionsAsInt()).append(COLUMN_SEPARATOR);
+        appendColumn(chunk, record.getAccessorType().name()).append(COLUMN_SEPARATOR);
+        appendColumn(chunk, record.getServiceName()).append(COLUMN_SEPARATOR);
+        appendColumn(chunk, record.getResourceType()).append(COLUMN_SEPARATOR);
+        appendColumn(chunk, record.getResourceName()).append(COLUMN_SEPARATOR);
+        appendColumn(chunk, record.getAttributeAsString()).append(COLUMN_SEPARATOR);
+        appendColumn(chunk, record.getRelationship()).append(ROW_SEPARATOR);
+    }
+
+    /**
+     * Appends value escaping characters that have special meaning in COPY text format.
+     */
+    private static StringBuilder appendColumn(StringBuilder chunk, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == ESCAPE) {
+                chunk.append("\\\\");
+            } else if (character == COLUMN_SEPARATOR) {
+                chunk.append("\\t");
+            } else if (character == ROW_SEPARATOR) {
+                chunk.append("\\n");
+            } else if (character == CARRIAGE_RETURN) {
+                chunk.append("\\r");
+            } else {
+                chunk.append(character);
+            }
+        }
+        return chunk;
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        if (chunk.length() > 0) {
+            byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            chunk.setLength(0);
+        }
+    }
+}
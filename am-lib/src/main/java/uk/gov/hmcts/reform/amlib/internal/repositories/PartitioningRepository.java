@@ -0,0 +1,114 @@
+package uk.gov.hmcts.reform.amlib.internal.repositories;
+
+import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+/**
+ * Statements used to migrate access management table to hash partitioned table. Partitioned table is created with
+ * the same columns, keys and indexes as original table, prefixed with {@code access_management_partitioned}
+ * until tables are switched.
+ */
+@SuppressWarnings({
+    "LineLength",
+    "PMD.TooManyMethods" // Repository class is specific and it makes sense to have all these methods here
+})
+public interface PartitioningRepository {
+
+    @SqlQuery("select cast(current_setting('server_version_num') as integer)")
+    int getServerVersion();
+
+    @SqlQuery("select to_regclass('access_management_partitioned') is not null")
+    boolean isPartitionedTablePrepared();
+
+    @SqlUpdate("create table access_management_partitioned (like access_management including defaults) partition by hash (resource_id)")
+    void createPartitionedTable();
+
+    @SqlUpdate("create table access_management_partition_<remainder> partition of access_management_partitioned for values with (modulus <modulus>, remainder <remainder>)")
+    void createPartition(@Define int modulus, @Define int remainder);
+
+    @SqlUpdate("alter table access_management_partitioned "
+        + "add constraint access_management_partitioned_pkey primary key (access_management_id, resource_id), "
+        + "add constraint access_management_partitioned_unique unique (resource_id, accessor_id, accessor_type, attribute, resource_definition_id, relationship), "
+        + "add constraint access_management_partitioned_resources_fkey foreign key (resource_definition_id) references resources (id) on update no action on delete no action, "
+        + "add constraint access_management_partitioned_relationship_fkey foreign key (relationship) references roles (role_name) on update no action on delete no action")
+    void addPartitionedTableConstraints();
+
+    @SqlUpdate("create index access_management_partitioned_accessor_resource_idx on access_management_partitioned (accessor_id, resource_id);"
+        + "create index access_management_partitioned_attribute_pattern_idx on access_management_partitioned (resource_id, accessor_id, attribute varchar_pattern_ops)")
+    void createPartitionedTableIndexes();
+
+    @SqlUpdate("create table access_management_partitioning_progress (last_copied_id integer not null);"
+        + "insert into access_management_partitioning_progress values (0)")
+    void createProgressTable();
+
+    /**
+     * Creates trigger applying changes made to original table onto partitioned table while existing records are
+     * being copied, so that both tables hold the same records once copying completes.
+     */
+    @SqlUpdate("create function mirror_access_management_change() returns trigger as $$ "
+        + "begin "
+        + "  if TG_OP in ('UPDATE', 'DELETE') then "
+        + "    delete from access_management_partitioned where access_management_id = OLD.access_management_id and resource_id = OLD.resource_id; "
+        + "  end if; "
+        + "  if TG_OP in ('INSERT', 'UPDATE') then "
+        + "    insert into access_management_partitioned values (NEW.*) on conflict do nothing; "
+        + "  end if; "
+        + "  return null; "
+        + "end; "
+        + "$$ language plpgsql;"
+        + "create trigger access_management_partitioning_mirror after insert or update or delete on access_management "
+        + "for each row execute procedure mirror_access_management_change()")
+    void createMirrorTrigger();
+
+    /**
+     * Copies next batch of records, in order of their identifiers, that have not been copied yet. Records are locked
+     * for share until batch is committed, so that concurrent update or delete waits for copied record to become
+     * visible to mirror trigger.
+     *
+     * @param batchSize maximum number of records to copy
+     * @return number of records read from original table; zero when there is nothing left to copy
+     */
+    @SqlQuery("with batch as (select * from access_management where access_management_id > (select last_copied_id from access_management_partitioning_progress) order by access_management_id limit :batchSize for share), "
+        + "copied as (insert into access_management_partitioned select * from batch on conflict do nothing), "
+        + "progress as (update access_management_partitioning_progress set last_copied_id = (select max(access_management_id) from batch) where exists (select 1 from batch)) "
+        + "select count(*) from batch")
+    int copyNextBatch(int batchSize);
+
+    @SqlUpdate("lock table access_management in access exclusive mode")
+    void lockOriginalTable();
+
+    /**
+     * Deletes records of partitioned table that are not identical to any record of original table.
+     *
+     * @return number of records deleted
+     */
+    @SqlUpdate("with stale as (select * from access_management_partitioned except select * from access_management) "
+        + "delete from access_management_partitioned p using stale s where p.access_management_id = s.access_management_id and p.resource_id = s.resource_id")
+    int deleteStalePartitionedRecords();
+
+    /**
+     * Inserts records of original table that are not present in partitioned table in identical form. Should be
+     * called after stale records are deleted so that updated records do not conflict with their previous versions.
+     *
+     * @return number of records inserted
+     */
+    @SqlUpdate("insert into access_management_partitioned select * from access_management except select * from access_management_partitioned")
+    int insertMissingPartitionedRecords();
+
+    @SqlUpdate("drop trigger access_management_partitioning_mirror on access_management;"
+        + "drop function mirror_access_management_change();"
+        + "drop table access_management_partitioning_progress;"
+        + "alter table access_management rename to access_management_unpartitioned;"
+        + "alter table access_management_unpartitioned rename constraint access_management_unique to access_management_unpartitioned_unique;"
+        + "alter index access_management_accessor_resource_idx rename to access_management_unpartitioned_accessor_resource_idx;"
+        + "alter index access_management_attribute_pattern_idx rename to access_management_unpartitioned_attribute_pattern_idx;"
+        + "alter table access_management_partitioned rename to access_management;"
+        + "alter table access_management rename constraint access_management_partitioned_unique to access_management_unique;"
+        + "alter index access_management_partitioned_accessor_resource_idx rename to access_management_accessor_resource_idx;"
+        + "alter index access_management_partitioned_attribute_pattern_idx rename to access_management_attribute_pattern_idx;"
+        + "do $$ begin "
+        + "  execute format('alter sequence %s owned by access_management.access_management_id', pg_get_serial_sequence('access_management_unpartitioned', 'access_management_id')); "
+        + "end $$")
+    void switchTables();
+}
@@ -0,0 +1,189 @@
+package uk.gov.hmcts.reform.amlib.internal.repositories;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.extension.ExtensionMethod;
+import org.jdbi.v3.core.statement.ParsedParameters;
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.StatementContext;
+import uk.gov.hmcts.reform.amlib.QuerySettings;
+import uk.gov.hmcts.reform.amlib.metrics.MetricsRecorders;
+import uk.gov.hmcts.reform.amlib.models.QueryStatistics;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.QUERY_TIMER;
+
+/**
+ * Records latency and affected rows of statements executed through JDBI, keyed by repository method that executed
+ * them, and logs statements slower than {@link QuerySettings#getSlowQueryThreshold()}. Slow statements are logged
+ * with names and number of bound parameters, never with their values.
+ */
+@Slf4j
+public class QueryMonitor implements SqlLogger {
+
+    static final int HISTOGRAM_BUCKETS = 14;
+
+    private static final String START_ATTRIBUTE = QueryMonitor.class.getName() + ".start";
+    private static final int MAX_AD_HOC_QUERY_NAME_LENGTH = 60;
+    private static final Pattern LIST_PARAMETER_PATTERN = Pattern.compile("__(.+)_\\d+");
+
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void logBeforeExecution(StatementContext context) {
+        context.define(START_ATTRIBUTE, System.nanoTime());
+    }
+
+    @Override
+    public void logAfterExecution(StatementContext context) {
+        long rows = -1;
+        try {
+            rows = context.getStatement().getUpdateCount();
+        } catch (SQLException e) {
+            log.debug("Could not read update count of statement", e);
+        }
+        record(context, rows, false);
+    }
+
+    @Override
+    public void logException(StatementContext context, SQLException ex) {
+        record(context, -1, true);
+    }
+
+    /**
+     * Returns statistics of statements executed so far.
+     *
+     * @return statistics by query name, which is repository type and method name for repository methods
+     */
+    @SuppressWarnings("PMD.UseConcurrentHashMap") // Map is local and wrapped as unmodifiable
+    public Map<String, QueryStatistics> getStatistics() {
+        Map<String, QueryStatistics> result = new LinkedHashMap<>();
+        new TreeMap<>(statistics).forEach((queryName, queryStatistics) ->
+            result.put(queryName, queryStatistics.snapshot()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private void record(StatementContext context, long rows, boolean failed) {
+        Object start = context.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long)) {
+            return;
+        }
+        String queryName = getQueryName(context);
+        record(queryName, System.nanoTime() - (Long) start, rows, failed,
+            () -> describeParameters(context.getParsedSql().getParameters()));
+    }
+
+    void record(String queryName, long durationNanos, long rows, boolean failed, ParametersDescription parameters) {
+        statistics.computeIfAbsent(queryName, name -> new Statistics()).record(durationNanos, rows, failed);
+        MetricsRecorders.getRecorder().recordTime(QUERY_TIMER, queryName, durationNanos);
+
+        long thresholdNanos = QuerySettings.getSlowQueryThreshold().toNanos();
+        if (durationNanos > thresholdNanos) {
+            statistics.get(queryName).slowExecutionCount.increment();
+            log.warn("Slow query: name={}, durationMs={}, thresholdMs={}, rows={}, failed={}, parameters={}",
+                queryName, TimeUnit.NANOSECONDS.toMillis(durationNanos), TimeUnit.NANOSECONDS.toMillis(thresholdNanos),
+                rows, failed, parameters.describe());
+        }
+    }
+
+    private static String getQueryName(StatementContext context) {
+        ExtensionMethod extensionMethod = context.getExtensionMethod();
+        if (extensionMethod != null) {
+            return extensionMethod.getType().getSimpleName() + "." + extensionMethod.getMethod().getName();
+        }
+        String sql = context.getRawSql().trim().replaceAll("\\s+", " ");
+        return sql.length() > MAX_AD_HOC_QUERY_NAME_LENGTH ? sql.substring(0, MAX_AD_HOC_QUERY_NAME_LENGTH) : sql;
+    }
+
+    /**
+     * Describes parameters without their values: named parameters are listed by name, parameters expanded from
+     * bound lists are collapsed into list name and size and positional parameters are counted.
+     */
+    @SuppressWarnings("PMD.UseConcurrentHashMap") // Map is populated by a single thread
+    static String describeParameters(ParsedParameters parameters) {
+        if (parameters.isPositional()) {
+            return "[" + parameters.getParameterCount() + " positional]";
+        }
+
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        for (String name : parameters.getParameterNames()) {
+            Matcher matcher = LIST_PARAMETER_PATTERN.matcher(name);
+            if (matcher.matches()) {
+                sizes.merge(matcher.group(1), 1, Integer::sum);
+            } else {
+                sizes.putIfAbsent(name, 0);
+            }
+        }
+
+        StringJoiner description = new StringJoiner(", ", "[", "]");
+        sizes.forEach((name, size) -> description.add(size > 0 ? name + "(" + size + ")" : name));
+        return description.toString();
+    }
+
+    static int histogramBucket(long durationNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        return millis <= 0 ? 0 : Math.min(Long.SIZE - Long.numberOfLeadingZeros(millis), HISTOGRAM_BUCKETS - 1);
+    }
+
+    /**
+     * Description of parameters computed only when statement is logged as slow.
+     */
+    @FunctionalInterface
+    interface ParametersDescription {
+        String describe();
+    }
+
+    private static final class Statistics {
+        private final LongAdder executionCount = new LongAdder();
+        private final LongAdder failureCount = new LongAdder();
+        private final LongAdder slowExecutionCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder affectedRowCount = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+
+        private void record(long durationNanos, long rows, boolean failed) {
+            executionCount.increment();
+            if (failed) {
+                failureCount.increment();
+            }
+            totalNanos.add(durationNanos);
+            maxNanos.accumulateAndGet(durationNanos, Math::max);
+            if (rows > 0) {
+                affectedRowCount.add(rows);
+            }
+            histogram.incrementAndGet(histogramBucket(durationNanos));
+        }
+
+        private QueryStatistics snapshot() {
+            SortedMap<Duration, Long> latencyHistogram = new TreeMap<>();
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                latencyHistogram.put(Duration.ofMillis(i == 0 ? 0 : 1L << (i - 1)), histogram.get(i));
+            }
+
+            return QueryStatistics.builder()
+                .executionCount(executionCount.sum())
+                .failureCount(failureCount.sum())
+                .slowExecutionCount(slowExecutionCount.sum())
+                .totalTime(Duration.ofNanos(totalNanos.sum()))
+                .maxTime(Duration.ofNanos(maxNanos.get()))
+                .affectedRowCount(affectedRowCount.sum())
+                .latencyHistogram(Collections.unmodifiableSortedMap(latencyHistogram))
+                .build();
+        }
+    }
+}
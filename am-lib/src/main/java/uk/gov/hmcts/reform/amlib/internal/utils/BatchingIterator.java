@@ -0,0 +1,44 @@
+package uk.gov.hmcts.reform.amlib.internal.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator grouping elements of another iterator into consecutive batches. Elements are read from source iterator
+ * only when next batch is requested, and every batch except the last one has exactly the requested size.
+ *
+ * @param <T> type of elements
+ */
+public class BatchingIterator<T> implements Iterator<List<T>> {
+
+    private final Iterator<T> source;
+    private final int batchSize;
+
+    public BatchingIterator(Iterator<T> source, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.source = source;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return source.hasNext();
+    }
+
+    @Override
+    public List<T> next() {
+        if (!source.hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        List<T> batch = new ArrayList<>(batchSize);
+        while (batch.size() < batchSize && source.hasNext()) {
+            batch.add(source.next());
+        }
+        return batch;
+    }
+}
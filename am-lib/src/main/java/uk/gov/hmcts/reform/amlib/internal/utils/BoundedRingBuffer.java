@@ -0,0 +1,101 @@
+package uk.gov.hmcts.reform.amlib.internal.utils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer. Every slot carries a sequence number telling
+ * whether slot is free for producer of given position or holds element for consumer of given position, so that
+ * producers only compete for position with compare-and-set and consumer does not need any atomic update.
+ *
+ * @param <E> type of elements
+ */
+public class BoundedRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerPosition = new AtomicLong();
+    private long consumerPosition;
+
+    /**
+     * Creates empty buffer.
+     *
+     * @param minimumCapacity minimum number of elements buffer holds; capacity is rounded up to power of two
+     */
+    public BoundedRingBuffer(int minimumCapacity) {
+        if (minimumCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = Integer.highestOneBit(minimumCapacity) == minimumCapacity
+            ? minimumCapacity : Integer.highestOneBit(minimumCapacity) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds element to the buffer unless buffer is full. Can be called by many threads concurrently.
+     *
+     * @param element element to add
+     * @return true if element was added, false if buffer is full
+     */
+    public boolean offer(E element) {
+        long position = producerPosition.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (producerPosition.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = producerPosition.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = producerPosition.get();
+            }
+        }
+    }
+
+    /**
+     * Moves elements from the buffer to the list, in order they were added. Must be called by a single thread.
+     *
+     * @param target       list elements are added to
+     * @param maximumCount maximum number of elements to move
+     * @return number of elements moved
+     */
+    public int drainTo(List<E> target, int maximumCount) {
+        int count = 0;
+        while (count < maximumCount) {
+            int index = (int) (consumerPosition & mask);
+            if (sequences.get(index) != consumerPosition + 1) {
+                break;
+            }
+            target.add(elements.get(index));
+            elements.lazySet(index, null);
+            sequences.set(index, consumerPosition + capacity);
+            consumerPosition++;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Tells whether buffer is empty. Elements being added count as present even though they cannot be drained yet.
+     * Must be called by the consumer thread.
+     *
+     * @return true if buffer holds no elements
+     */
+    public boolean isEmpty() {
+        return producerPosition.get() == consumerPosition;
+    }
+}
@@ -0,0 +1,140 @@
+package uk.gov.hmcts.reform.amlib.internal.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bridge to {@code jdk.jfr} API, which is accessed reflectively as library is compiled for Java 8 that does not
+ * have it. API is present on JDK 11 and later, and on OpenJDK 8 from update 262.
+ */
+@Slf4j
+final class FlightRecorderApi {
+
+    static final Optional<FlightRecorderApi> INSTANCE = load();
+
+    private static final String EVENT_NAME_PREFIX = "uk.gov.hmcts.reform.amlib.";
+    private static final String CATEGORY = "Access Management";
+
+    final MethodHandle begin;
+    final MethodHandle set;
+    final MethodHandle commit;
+
+    private final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+    private final Method createMethod;
+    private final Method newEventMethod;
+    private final Method getEventTypeMethod;
+    private final Method enabledMethod;
+    private final Constructor<?> annotationElement;
+    private final Constructor<?> valueDescriptor;
+    private final Class<? extends Annotation> nameAnnotation;
+    private final Class<? extends Annotation> labelAnnotation;
+    private final Class<? extends Annotation> descriptionAnnotation;
+    private final Class<? extends Annotation> categoryAnnotation;
+
+    private FlightRecorderApi() throws ReflectiveOperationException {
+        Class<?> event = Class.forName("jdk.jfr.Event");
+        this.begin = lookup.unreflect(event.getMethod("begin"))
+            .asType(MethodType.methodType(void.class, Object.class));
+        this.set = lookup.unreflect(event.getMethod("set", int.class, Object.class))
+            .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+        this.commit = lookup.unreflect(event.getMethod("commit"))
+            .asType(MethodType.methodType(void.class, Object.class));
+
+        Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+        this.createMethod = eventFactory.getMethod("create", List.class, List.class);
+        this.newEventMethod = eventFactory.getMethod("newEvent");
+        this.getEventTypeMethod = eventFactory.getMethod("getEventType");
+        this.enabledMethod = Class.forName("jdk.jfr.EventType").getMethod("isEnabled");
+        this.annotationElement = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class, Object.class);
+        this.valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor")
+            .getConstructor(Class.class, String.class, List.class);
+        this.nameAnnotation = Class.forName("jdk.jfr.Name").asSubclass(Annotation.class);
+        this.labelAnnotation = Class.forName("jdk.jfr.Label").asSubclass(Annotation.class);
+        this.descriptionAnnotation = Class.forName("jdk.jfr.Description").asSubclass(Annotation.class);
+        this.categoryAnnotation = Class.forName("jdk.jfr.Category").asSubclass(Annotation.class);
+    }
+
+    private static Optional<FlightRecorderApi> load() {
+        try {
+            return Optional.of(new FlightRecorderApi());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.debug("Java Flight Recorder API is not available, access management events will not be recorded", e);
+            return Optional.empty();
+        }
+    }
+
+    static String getEventName(String name) {
+        return EVENT_NAME_PREFIX + name;
+    }
+
+    /**
+     * Registers event type if Flight Recorder API is available.
+     *
+     * @return factory of events of registered type, or factory of disabled events if type cannot be registered
+     */
+    static EventFactory register(String name,
+                                 String label,
+                                 String description,
+                                 FlightRecorderEventType.Field... fields) {
+        if (!INSTANCE.isPresent()) {
+            return EventFactory.DISABLED;
+        }
+        try {
+            return INSTANCE.get().createFactory(name, label, description, Arrays.asList(fields));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Cannot register Java Flight Recorder event " + getEventName(name), e);
+            return EventFactory.DISABLED;
+        }
+    }
+
+    private EventFactory createFactory(String name,
+                                       String label,
+                                       String description,
+                                       List<FlightRecorderEventType.Field> fields)
+        throws ReflectiveOperationException {
+        List<Object> annotations = Arrays.asList(
+            annotationElement.newInstance(nameAnnotation, getEventName(name)),
+            annotationElement.newInstance(labelAnnotation, label),
+            annotationElement.newInstance(descriptionAnnotation, description),
+            annotationElement.newInstance(categoryAnnotation, new String[]{CATEGORY}));
+
+        List<Object> descriptors = new ArrayList<>(fields.size());
+        for (FlightRecorderEventType.Field field : fields) {
+            descriptors.add(valueDescriptor.newInstance(field.type, field.name,
+                Collections.singletonList(annotationElement.newInstance(labelAnnotation, field.label))));
+        }
+
+        Object factory = createMethod.invoke(null, annotations, descriptors);
+        return new EventFactory(
+            lookup.unreflect(enabledMethod).bindTo(getEventTypeMethod.invoke(factory)),
+            lookup.unreflect(newEventMethod).bindTo(factory).asType(MethodType.methodType(Object.class)));
+    }
+
+    /**
+     * Handles of registered event type: {@code ()boolean} telling whether type is enabled in any running recording
+     * and {@code ()Object} creating new event.
+     */
+    static final class EventFactory {
+        static final EventFactory DISABLED = new EventFactory(
+            MethodHandles.constant(boolean.class, false), MethodHandles.constant(Object.class, null));
+
+        final MethodHandle enabledCheck;
+        final MethodHandle eventConstructor;
+
+        private EventFactory(MethodHandle enabledCheck, MethodHandle eventConstructor) {
+            this.enabledCheck = enabledCheck;
+            this.eventConstructor = eventConstructor;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.amlib.internal.utils;
+
+/**
+ * Event of {@link FlightRecorderEventType} that is being timed. Disabled event is shared and ignores commits.
+ */
+public final class FlightRecorderEvent {
+
+    static final FlightRecorderEvent DISABLED = new FlightRecorderEvent(null, null);
+
+    private final FlightRecorderEventType type;
+    private final Object event;
+
+    FlightRecorderEvent(FlightRecorderEventType type, Object event) {
+        this.type = type;
+        this.event = event;
+    }
+
+    public boolean isEnabled() {
+        return event != null;
+    }
+
+    /**
+     * Ends timing event duration and writes event to recordings unless it is disabled.
+     *
+     * @param values values of all fields in order they are defined in event type
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable") // Method handle invocation declares Throwable
+    public void commit(Object... values) {
+        if (event == null) {
+            return;
+        }
+        FlightRecorderApi api = FlightRecorderApi.INSTANCE.get();
+        try {
+            for (int i = 0; i < values.length; i++) {
+                api.set.invokeExact(event, i, values[i]);
+            }
+            api.commit.invokeExact(event);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot commit Java Flight Recorder event " + type.getName(), e);
+        }
+    }
+}
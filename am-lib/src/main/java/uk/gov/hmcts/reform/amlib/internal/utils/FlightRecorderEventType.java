@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.amlib.internal.utils;
+
+/**
+ * Types of events recorded by Java Flight Recorder, named with {@code uk.gov.hmcts.reform.amlib.} prefix. Event
+ * types are registered at runtime and are never enabled on JVMs without Flight Recorder API.
+ *
+ * <p>Event is only created when its type is enabled in a running recording, otherwise {@link #begin()} returns
+ * shared disabled event. Values that are expensive to compute should be computed only when
+ * {@link FlightRecorderEvent#isEnabled()}.
+ */
+public enum FlightRecorderEventType {
+    FILTER_RESOURCE("FilterResource", "Filter Resource",
+        "Access to a single resource resolved and resource filtered",
+        new Field(String.class, "serviceName", "Service Name"),
+        new Field(String.class, "resourceType", "Resource Type"),
+        new Field(String.class, "resourceName", "Resource Name"),
+        new Field(String.class, "accessType", "Access Type"),
+        new Field(int.class, "pointerCount", "Pointer Count")),
+    FILTER_RESOURCES("FilterResources", "Filter Resources",
+        "Access to a list of resources resolved and resources filtered",
+        new Field(int.class, "resourceCount", "Resource Count"),
+        new Field(int.class, "accessibleResourceCount", "Accessible Resource Count")),
+    MERGE_PERMISSIONS("MergePermissions", "Merge Permissions",
+        "Permission maps merged into a single map",
+        new Field(int.class, "sourceCount", "Source Count"),
+        new Field(int.class, "pointerCount", "Pointer Count")),
+    FILTER_JSON("FilterJson", "Filter JSON",
+        "JSON filtered by permissions, size is number of nodes of tree or number of bytes read from stream",
+        new Field(int.class, "pointerCount", "Pointer Count"),
+        new Field(long.class, "jsonSize", "JSON Size"),
+        new Field(boolean.class, "streaming", "Streaming"));
+
+    private final String name;
+    private final FlightRecorderApi.EventFactory factory;
+
+    FlightRecorderEventType(String name, String label, String description, Field... fields) {
+        this.name = FlightRecorderApi.getEventName(name);
+        this.factory = FlightRecorderApi.register(name, label, description, fields);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Begins timing event duration if event type is enabled.
+     *
+     * @return new event if event type is enabled in a running recording, otherwise disabled event
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable") // Method handle invocation declares Throwable
+    public FlightRecorderEvent begin() {
+        try {
+            if (!(boolean) factory.enabledCheck.invokeExact()) {
+                return FlightRecorderEvent.DISABLED;
+            }
+            Object event = (Object) factory.eventConstructor.invokeExact();
+            FlightRecorderApi.INSTANCE.get().begin.invokeExact(event);
+            return new FlightRecorderEvent(this, event);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot begin Java Flight Recorder event " + name, e);
+        }
+    }
+
+    /**
+     * Event field definition; values are set in order fields are defined in.
+     */
+    static final class Field {
+        final Class<?> type;
+        final String name;
+        final String label;
+
+        private Field(Class<?> type, String name, String label) {
+            this.type = type;
+            this.name = name;
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package uk.gov.hmcts.reform.amlib.internal.utils;
+
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import static java.util.stream.Collectors.joining;
+
+public final class Validators {
+
+    private static final Validator VALIDATOR = Validation.byProvider(HibernateValidator.class)
+        .configure()
+        .messageInterpolator(new ParameterMessageInterpolator())
+        .buildValidatorFactory()
+        .getValidator();
+
+    private Validators() {
+        throw new UnsupportedOperationException("Constructing utility class is not supported");
+    }
+
+    /**
+     * Returns validator shared by the library, configured not to require expression language implementation.
+     *
+     * @return validator instance
+     */
+    public static Validator getValidator() {
+        return VALIDATOR;
+    }
+
+    /**
+     * Validates bean that could not be validated as method parameter, for example element of a stream.
+     *
+     * @param bean bean to validate
+     * @throws IllegalArgumentException if bean has any constraint violations
+     */
+    public static void validate(Object bean) {
+        Set<ConstraintViolation<Object>> violations = VALIDATOR.validate(bean);
+
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(toMessage(violations));
+        }
+    }
+
+    public static String toMessage(Set<ConstraintViolation<Object>> violations) {
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + " - " + violation.getMessage())
+            .collect(joining("; "));
+    }
+}
@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.amlib.metrics;
+
+/**
+ * Names and tags of metrics recorded by the library.
+ */
+public final class MetricNames {
+
+    /**
+     * Timer of public methods of services, tagged with simple class name and method name e.g.
+     * {@code AccessManagementService.filterResource}. Includes auditing but not validation, which is timed as
+     * {@link #VALIDATION_PHASE}, so calls with invalid arguments are not timed.
+     */
+    public static final String METHOD_TIMER = "am.method";
+
+    /**
+     * Counter of public methods of services that returned null, tagged like {@link #METHOD_TIMER}.
+     */
+    public static final String NULL_RESULT_COUNTER = "am.method.null-result";
+
+    /**
+     * Timer of phases of resolving and filtering access, tagged with one of the phases below.
+     */
+    public static final String PHASE_TIMER = "am.phase";
+
+    /**
+     * Phase of validating arguments of public methods of services.
+     */
+    public static final String VALIDATION_PHASE = "validation";
+
+    /**
+     * Phase of looking up explicit access in the database, for one resource or batch of resources.
+     */
+    public static final String EXPLICIT_LOOKUP_PHASE = "explicit-lookup";
+
+    /**
+     * Phase of looking up roles and their default permissions, served from caches when possible.
+     */
+    public static final String ROLE_LOOKUP_PHASE = "role-lookup";
+
+    /**
+     * Phase of merging permissions of many roles or relationships.
+     */
+    public static final String MERGE_PHASE = "merge";
+
+    /**
+     * Phase of filtering JSON of resource.
+     */
+    public static final String FILTER_PHASE = "filter";
+
+    /**
+     * Phase of rendering audit event and writing it to audit sink.
+     */
+    public static final String AUDIT_PHASE = "audit";
+
+    /**
+     * Timer of database statements, tagged with name of repository and method that executed statement e.g.
+     * {@code AccessManagementRepository.getExplicitAccess}.
+     */
+    public static final String QUERY_TIMER = "am.query";
+
+    /**
+     * Counter of resolved access to resources, tagged with {@link uk.gov.hmcts.reform.amlib.enums.AccessType} name
+     * or {@link #NO_ACCESS} when access is not configured.
+     */
+    public static final String ACCESS_COUNTER = "am.access";
+
+    public static final String NO_ACCESS = "NONE";
+
+    private MetricNames() {
+        throw new UnsupportedOperationException("Constructing utility class is not supported");
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.amlib.metrics;
+
+/**
+ * Destination of metrics produced by the library, typically an adapter of a metrics library like Micrometer.
+ * Recorder used by the library is set with {@link MetricsRecorders#setRecorder(MetricsRecorder)} and by default
+ * discards all metrics, see {@link NoOpMetricsRecorder}. Names of metrics and their tags are listed in
+ * {@link MetricNames}.
+ *
+ * <p>Implementations have to be thread safe and cheap, as metrics are recorded by threads calling the library.
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Records duration of single execution of an operation.
+     *
+     * @param name          name of timer
+     * @param tag           value of the only tag of timer, identifying the operation
+     * @param durationNanos duration in nanoseconds
+     */
+    void recordTime(String name, String tag, long durationNanos);
+
+    /**
+     * Increments counter by one.
+     *
+     * @param name name of counter
+     * @param tag  value of the only tag of counter, identifying what was counted
+     */
+    void increment(String name, String tag);
+}
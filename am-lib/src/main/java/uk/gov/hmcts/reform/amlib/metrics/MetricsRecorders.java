@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.amlib.metrics;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds metrics recorder used by all services of the library in the JVM.
+ */
+public final class MetricsRecorders {
+
+    private static final AtomicReference<MetricsRecorder> RECORDER =
+        new AtomicReference<>(new NoOpMetricsRecorder());
+
+    private MetricsRecorders() {
+        throw new UnsupportedOperationException("Constructing utility class is not supported");
+    }
+
+    /**
+     * Returns metrics recorder currently used by the library.
+     *
+     * @return metrics recorder
+     */
+    public static MetricsRecorder getRecorder() {
+        return RECORDER.get();
+    }
+
+    /**
+     * Replaces metrics recorder used by the library.
+     *
+     * @param metricsRecorder metrics recorder to use
+     */
+    public static void setRecorder(MetricsRecorder metricsRecorder) {
+        RECORDER.set(Objects.requireNonNull(metricsRecorder));
+    }
+}
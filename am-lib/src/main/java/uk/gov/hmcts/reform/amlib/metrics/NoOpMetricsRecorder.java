@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.amlib.metrics;
+
+/**
+ * Recorder discarding all metrics, used by the library unless other recorder is set.
+ */
+public class NoOpMetricsRecorder implements MetricsRecorder {
+
+    @Override
+    public void recordTime(String name, String tag, long durationNanos) {
+        // Metrics are discarded
+    }
+
+    @Override
+    public void increment(String name, String tag) {
+        // Metrics are discarded
+    }
+}
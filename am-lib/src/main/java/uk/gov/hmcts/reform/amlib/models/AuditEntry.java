@@ -0,0 +1,27 @@
+package uk.gov.hmcts.reform.amlib.models;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import lombok.Builder;
+import lombok.Data;
+import uk.gov.hmcts.reform.amlib.enums.AccessType;
+import uk.gov.hmcts.reform.amlib.enums.Permission;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resource an audit event is about, copied when event is created so that later changes made by the caller to
+ * arguments or results of audited method do not change the event.
+ */
+@Data
+@Builder
+public final class AuditEntry {
+    private final String resourceId;
+    private final ResourceDefinition resourceDefinition;
+    private final Set<String> accessors;
+    /**
+     * Access type of accessors to the resource, or null if access was not resolved or accessors have no access.
+     */
+    private final AccessType accessType;
+    private final Map<JsonPointer, Set<Permission>> permissions;
+}
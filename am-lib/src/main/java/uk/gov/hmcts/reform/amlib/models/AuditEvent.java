@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.amlib.models;
+
+import lombok.Builder;
+import lombok.Data;
+import uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+public final class AuditEvent {
+    private final Instant timestamp;
+    private final AuditLog.Severity severity;
+    /**
+     * Audited method formatted as {@code <class name>.<method name>}.
+     */
+    private final String method;
+    /**
+     * Caller taken from {@code caller} entry of mapped diagnostic context.
+     */
+    private final String caller;
+    /**
+     * Resources event is about; empty unless sink {@link uk.gov.hmcts.reform.amlib.audit.AuditSink#requiresEntries()
+     * requires entries}.
+     */
+    private final List<AuditEntry> entries;
+    private final String message;
+}
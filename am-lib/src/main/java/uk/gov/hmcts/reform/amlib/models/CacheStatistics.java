@@ -0,0 +1,12 @@
+package uk.gov.hmcts.reform.amlib.models;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public final class CacheStatistics {
+    private final long hitCount;
+    private final long missCount;
+    private final int size;
+}
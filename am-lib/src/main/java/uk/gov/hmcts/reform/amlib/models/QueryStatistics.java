@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.amlib.models;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.SortedMap;
+
+@Data
+@Builder
+public final class QueryStatistics {
+    private final long executionCount;
+    private final long failureCount;
+    private final long slowExecutionCount;
+    private final Duration totalTime;
+    private final Duration maxTime;
+    /**
+     * Number of rows inserted, updated or deleted by statements that are not queries.
+     */
+    private final long affectedRowCount;
+    /**
+     * Number of executions by lower bound of their duration, doubling from 1 millisecond.
+     */
+    private final SortedMap<Duration, Long> latencyHistogram;
+}
@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.amlib.models;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+@Builder
+public final class ResourceAccessEnvelope {
+    private final String resourceId;
+    private final AccessEnvelope access;
+    private final Set<String> relationships;
+}
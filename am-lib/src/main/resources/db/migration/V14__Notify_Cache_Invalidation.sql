@@ -0,0 +1,22 @@
+CREATE FUNCTION notify_roles_cache_invalidation() RETURNS TRIGGER AS $$
+BEGIN
+  IF TG_OP = 'TRUNCATE' THEN
+    PERFORM pg_notify('am_cache_invalidation', json_build_object('table', TG_TABLE_NAME)::text);
+  END IF;
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    PERFORM pg_notify('am_cache_invalidation', json_build_object('table', TG_TABLE_NAME, 'roleName', OLD.role_name)::text);
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    PERFORM pg_notify('am_cache_invalidation', json_build_object('table', TG_TABLE_NAME, 'roleName', NEW.role_name)::text);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER roles_cache_invalidation
+  AFTER INSERT OR UPDATE OR DELETE ON roles
+  FOR EACH ROW EXECUTE PROCEDURE notify_roles_cache_invalidation();
+
+CREATE TRIGGER roles_truncate_cache_invalidation
+  AFTER TRUNCATE ON roles
+  FOR EACH STATEMENT EXECUTE PROCEDURE notify_roles_cache_invalidation();
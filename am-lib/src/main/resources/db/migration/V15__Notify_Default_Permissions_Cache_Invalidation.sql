@@ -0,0 +1,32 @@
+CREATE FUNCTION notify_default_permissions_cache_invalidation() RETURNS TRIGGER AS $$
+BEGIN
+  IF TG_OP = 'TRUNCATE' THEN
+    PERFORM pg_notify('am_cache_invalidation', json_build_object('table', TG_TABLE_NAME)::text);
+  END IF;
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    PERFORM pg_notify('am_cache_invalidation', json_build_object('table', TG_TABLE_NAME,
+      'serviceName', OLD.service_name, 'resourceType', OLD.resource_type, 'resourceName', OLD.resource_name)::text);
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    PERFORM pg_notify('am_cache_invalidation', json_build_object('table', TG_TABLE_NAME,
+      'serviceName', NEW.service_name, 'resourceType', NEW.resource_type, 'resourceName', NEW.resource_name)::text);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER default_permissions_for_roles_cache_invalidation
+  AFTER INSERT OR UPDATE OR DELETE ON default_permissions_for_roles
+  FOR EACH ROW EXECUTE PROCEDURE notify_default_permissions_cache_invalidation();
+
+CREATE TRIGGER default_permissions_for_roles_truncate_cache_invalidation
+  AFTER TRUNCATE ON default_permissions_for_roles
+  FOR EACH STATEMENT EXECUTE PROCEDURE notify_default_permissions_cache_invalidation();
+
+CREATE TRIGGER resource_attributes_cache_invalidation
+  AFTER INSERT OR UPDATE OR DELETE ON resource_attributes
+  FOR EACH ROW EXECUTE PROCEDURE notify_default_permissions_cache_invalidation();
+
+CREATE TRIGGER resource_attributes_truncate_cache_invalidation
+  AFTER TRUNCATE ON resource_attributes
+  FOR EACH STATEMENT EXECUTE PROCEDURE notify_default_permissions_cache_invalidation();
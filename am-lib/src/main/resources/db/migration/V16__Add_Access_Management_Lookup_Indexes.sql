@@ -0,0 +1,9 @@
+-- Supports explicit access lookups by accessor, optionally narrowed to resources. Unique constraint
+-- leads with resource id and therefore cannot serve lookups made by accessor only.
+CREATE INDEX access_management_accessor_resource_idx
+  ON access_management (accessor_id, resource_id);
+
+-- Supports prefix match used to revoke access to attribute together with its children. Pattern ops
+-- operator class is required for LIKE to use index regardless of database collation.
+CREATE INDEX access_management_attribute_pattern_idx
+  ON access_management (resource_id, accessor_id, attribute varchar_pattern_ops);
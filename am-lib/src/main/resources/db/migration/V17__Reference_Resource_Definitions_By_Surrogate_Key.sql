@@ -0,0 +1,36 @@
+ALTER TABLE resources
+  ADD COLUMN id SERIAL NOT NULL;
+
+ALTER TABLE resources
+  ADD CONSTRAINT resources_id_key UNIQUE (id);
+
+ALTER TABLE access_management
+  ADD COLUMN resource_definition_id INTEGER;
+
+UPDATE access_management SET resource_definition_id = resources.id
+FROM resources
+WHERE resources.service_name = access_management.service_name
+  AND resources.resource_type = access_management.resource_type
+  AND resources.resource_name = access_management.resource_name;
+
+ALTER TABLE access_management
+  ALTER COLUMN resource_definition_id SET NOT NULL;
+
+ALTER TABLE access_management
+  DROP CONSTRAINT access_management_unique;
+
+ALTER TABLE access_management
+  DROP CONSTRAINT access_management_resources_fkey;
+
+ALTER TABLE access_management
+  DROP COLUMN service_name,
+  DROP COLUMN resource_type,
+  DROP COLUMN resource_name;
+
+ALTER TABLE access_management
+  ADD CONSTRAINT access_management_resources_fkey FOREIGN KEY (resource_definition_id)
+    REFERENCES resources (id)
+    ON UPDATE NO ACTION ON DELETE NO ACTION;
+
+ALTER TABLE access_management
+  ADD CONSTRAINT access_management_unique UNIQUE (resource_id, accessor_id, accessor_type, attribute, resource_definition_id, relationship);
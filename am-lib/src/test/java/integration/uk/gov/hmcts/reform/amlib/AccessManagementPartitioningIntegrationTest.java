@@ -0,0 +1,107 @@
+package integration.uk.gov.hmcts.reform.amlib;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.google.common.collect.ImmutableSet;
+import integration.uk.gov.hmcts.reform.amlib.helpers.DatabaseContainers;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.testcontainers.containers.PostgreSQLContainer;
+import uk.gov.hmcts.reform.amlib.AccessManagementPartitioningService;
+import uk.gov.hmcts.reform.amlib.AccessManagementService;
+import uk.gov.hmcts.reform.amlib.DefaultRoleSetupImportService;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.amlib.enums.AccessType.EXPLICIT;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.READ;
+import static uk.gov.hmcts.reform.amlib.enums.RoleType.IDAM;
+import static uk.gov.hmcts.reform.amlib.enums.SecurityClassification.PUBLIC;
+import static uk.gov.hmcts.reform.amlib.helpers.DefaultRoleSetupDataFactory.createResourceDefinition;
+import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createGrantForWholeDocument;
+import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createMetadata;
+
+/**
+ * Runs against its own database as hash partitioning requires PostgreSQL 11 and switching tables cannot be undone.
+ */
+@SuppressWarnings("LineLength")
+class AccessManagementPartitioningIntegrationTest {
+    private static final String ACCESSOR_ID = "user";
+    private static final String RELATIONSHIP = "partitioning";
+
+    private static PostgreSQLContainer db;
+    private static Jdbi jdbi;
+    private static AccessManagementService service;
+    private static AccessManagementPartitioningService partitioningService;
+    private static ResourceDefinition resourceDefinition;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        db = DatabaseContainers.startMigratedDatabase("postgres:11");
+        jdbi = Jdbi.create(db.getJdbcUrl(), db.getUsername(), db.getPassword());
+        service = new AccessManagementService(db.getJdbcUrl(), db.getUsername(), db.getPassword());
+        partitioningService = new AccessManagementPartitioningService(
+            db.getJdbcUrl(), db.getUsername(), db.getPassword());
+
+        MDC.put("caller", "Administrator");
+        DefaultRoleSetupImportService importerService =
+            new DefaultRoleSetupImportService(db.getJdbcUrl(), db.getUsername(), db.getPassword());
+        importerService.addService("service");
+        importerService.addRole(RELATIONSHIP, IDAM, PUBLIC, EXPLICIT);
+        importerService.addResourceDefinition(resourceDefinition = createResourceDefinition("service", "type", "name"));
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        db.stop();
+    }
+
+    @Test
+    void whenTablesDifferAfterCopyingShouldReconcileThemBeforeSwitchingTables() {
+        for (int i = 1; i <= 10; i++) {
+            grantExplicitResourceAccess("resource-" + i);
+        }
+
+        partitioningService.preparePartitionedTable(4);
+        partitioningService.copyExistingRecords(3);
+
+        // Changes mirrored by trigger
+        grantExplicitResourceAccess("resource-11");
+        service.revokeResourceAccess(
+            createMetadata("resource-4", ACCESSOR_ID, RELATIONSHIP, resourceDefinition, JsonPointer.valueOf("")));
+
+        // Changes missed by trigger, as if they were made while records were being copied
+        jdbi.useHandle(handle -> {
+            handle.execute("delete from access_management_partitioned where resource_id = 'resource-1'");
+            handle.execute("update access_management_partitioned set permissions = 0 where resource_id = 'resource-2'");
+            handle.execute("insert into access_management_partitioned (access_management_id, resource_id, accessor_id, permissions, accessor_type, attribute, relationship, resource_definition_id) "
+                + "select access_management_id + 1000, 'resource-stale', accessor_id, permissions, accessor_type, attribute, relationship, resource_definition_id "
+                + "from access_management where resource_id = 'resource-3'");
+        });
+
+        partitioningService.switchToPartitionedTable();
+
+        assertThat(query("select relkind = 'p' from pg_class where relname = 'access_management'", Boolean.class))
+            .containsOnly(true);
+        assertThat(query("select count(*) from (select * from access_management except select * from access_management_unpartitioned) differences", Integer.class))
+            .containsOnly(0);
+        assertThat(query("select count(*) from (select * from access_management_unpartitioned except select * from access_management) differences", Integer.class))
+            .containsOnly(0);
+        assertThat(query("select resource_id from access_management", String.class))
+            .containsOnly("resource-1", "resource-2", "resource-3", "resource-5", "resource-6", "resource-7",
+                "resource-8", "resource-9", "resource-10", "resource-11");
+    }
+
+    private void grantExplicitResourceAccess(String resourceId) {
+        service.grantExplicitResourceAccess(createGrantForWholeDocument(
+            resourceId, ACCESSOR_ID, RELATIONSHIP, resourceDefinition, ImmutableSet.of(READ)));
+    }
+
+    private <T> List<T> query(String sql, Class<T> type) {
+        return jdbi.withHandle(handle -> handle.createQuery(sql).mapTo(type).list());
+    }
+}
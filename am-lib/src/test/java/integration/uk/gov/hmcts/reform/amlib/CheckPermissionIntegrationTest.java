@@ -0,0 +1,94 @@
+package integration.uk.gov.hmcts.reform.amlib;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import integration.uk.gov.hmcts.reform.amlib.base.PreconfiguredIntegrationBaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.AccessManagementService;
+import uk.gov.hmcts.reform.amlib.DefaultRoleSetupImportService;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.amlib.enums.AccessType.ROLE_BASED;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.CREATE;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.READ;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.UPDATE;
+import static uk.gov.hmcts.reform.amlib.enums.RoleType.IDAM;
+import static uk.gov.hmcts.reform.amlib.enums.SecurityClassification.PUBLIC;
+import static uk.gov.hmcts.reform.amlib.helpers.DefaultRoleSetupDataFactory.createDefaultPermissionGrant;
+import static uk.gov.hmcts.reform.amlib.helpers.DefaultRoleSetupDataFactory.createResourceDefinition;
+import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createGrant;
+
+class CheckPermissionIntegrationTest extends PreconfiguredIntegrationBaseTest {
+    private static final JsonPointer CLAIMANT = JsonPointer.valueOf("/claimant");
+    private static final JsonPointer CLAIMANT_ADDRESS = JsonPointer.valueOf("/claimant/address");
+    private static final JsonPointer DEFENDANT = JsonPointer.valueOf("/defendant");
+
+    private static AccessManagementService service = initService(AccessManagementService.class);
+    private static DefaultRoleSetupImportService importerService = initService(DefaultRoleSetupImportService.class);
+    private String resourceId;
+    private String accessorId;
+    private String roleName;
+    private ResourceDefinition resourceDefinition;
+
+    @BeforeEach
+    void setUp() {
+        resourceId = UUID.randomUUID().toString();
+        accessorId = UUID.randomUUID().toString();
+
+        importerService.addRole(roleName = UUID.randomUUID().toString(), IDAM, PUBLIC, ROLE_BASED);
+        importerService.addResourceDefinition(resourceDefinition = createResourceDefinition(
+            serviceName, UUID.randomUUID().toString(), UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void whenExplicitAccessGrantsPermissionToAttributeShouldHavePermission() {
+        service.grantExplicitResourceAccess(createGrant(resourceId, accessorId, roleName, resourceDefinition,
+            ImmutableMap.of(CLAIMANT, ImmutableSet.of(UPDATE))));
+
+        assertThat(service.hasPermission(
+            accessorId, ImmutableSet.of(roleName), resourceDefinition, resourceId, CLAIMANT, UPDATE)).isTrue();
+        assertThat(service.hasPermission(
+            accessorId, ImmutableSet.of(roleName), resourceDefinition, resourceId, CLAIMANT, READ)).isFalse();
+    }
+
+    @Test
+    void whenAttributeHasNoPermissionsConfiguredShouldInheritPermissionsOfAncestor() {
+        service.grantExplicitResourceAccess(createGrant(resourceId, accessorId, roleName, resourceDefinition,
+            ImmutableMap.of(JsonPointer.valueOf(""), ImmutableSet.of(READ), CLAIMANT, ImmutableSet.of(UPDATE))));
+
+        assertThat(service.hasPermission(
+            accessorId, ImmutableSet.of(roleName), resourceDefinition, resourceId, CLAIMANT_ADDRESS, UPDATE)).isTrue();
+        assertThat(service.hasPermission(
+            accessorId, ImmutableSet.of(roleName), resourceDefinition, resourceId, DEFENDANT, READ)).isTrue();
+    }
+
+    @Test
+    void whenNoExplicitAccessShouldUseRoleBasedAccess() {
+        importerService.grantDefaultPermission(
+            createDefaultPermissionGrant(roleName, resourceDefinition, "", ImmutableSet.of(CREATE)));
+
+        assertThat(service.hasPermission(
+            accessorId, ImmutableSet.of(roleName), resourceDefinition, resourceId, CLAIMANT, CREATE)).isTrue();
+    }
+
+    @Test
+    void whenAccessIsNotConfiguredShouldNotHavePermission() {
+        assertThat(service.hasPermission(
+            accessorId, ImmutableSet.of(roleName), resourceDefinition, resourceId, CLAIMANT, READ)).isFalse();
+    }
+
+    @Test
+    void whenCheckingManyAttributesShouldTellForEveryAttributeWhetherPermissionIsGranted() {
+        service.grantExplicitResourceAccess(createGrant(resourceId, accessorId, roleName, resourceDefinition,
+            ImmutableMap.of(CLAIMANT, ImmutableSet.of(UPDATE))));
+
+        assertThat(service.checkPermission(accessorId, ImmutableSet.of(roleName), resourceDefinition, resourceId,
+            ImmutableSet.of(CLAIMANT, CLAIMANT_ADDRESS, DEFENDANT), UPDATE))
+            .isEqualTo(ImmutableMap.of(CLAIMANT, true, CLAIMANT_ADDRESS, true, DEFENDANT, false));
+    }
+}
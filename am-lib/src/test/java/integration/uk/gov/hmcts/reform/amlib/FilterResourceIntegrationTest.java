@@ -1,6 +1,7 @@
 package integration.uk.gov.hmcts.reform.amlib;
 
 import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -8,19 +9,34 @@ import com.google.common.collect.ImmutableSet;
 import integration.uk.gov.hmcts.reform.amlib.base.PreconfiguredIntegrationBaseTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
 import uk.gov.hmcts.reform.amlib.AccessManagementService;
 import uk.gov.hmcts.reform.amlib.DefaultRoleSetupImportService;
+import uk.gov.hmcts.reform.amlib.audit.AuditSink;
+import uk.gov.hmcts.reform.amlib.audit.AuditSinks;
+import uk.gov.hmcts.reform.amlib.audit.LoggingAuditSink;
 import uk.gov.hmcts.reform.amlib.enums.Permission;
+import uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog;
 import uk.gov.hmcts.reform.amlib.models.AccessEnvelope;
+import uk.gov.hmcts.reform.amlib.models.AuditEvent;
 import uk.gov.hmcts.reform.amlib.models.DefaultPermissionGrant;
 import uk.gov.hmcts.reform.amlib.models.FilteredResourceEnvelope;
 import uk.gov.hmcts.reform.amlib.models.Resource;
+import uk.gov.hmcts.reform.amlib.models.ResourceAccessEnvelope;
 import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static uk.gov.hmcts.reform.amlib.enums.AccessType.EXPLICIT;
 import static uk.gov.hmcts.reform.amlib.enums.AccessType.ROLE_BASED;
@@ -44,6 +60,7 @@ class FilterResourceIntegrationTest extends PreconfiguredIntegrationBaseTest {
     private static final String PARENT_AND_CHILD_ATTRIBUTE = PARENT_ATTRIBUTE + CHILD_ATTRIBUTE;
     private static AccessManagementService service = initService(AccessManagementService.class);
     private static DefaultRoleSetupImportService importerService = initService(DefaultRoleSetupImportService.class);
+    private final ObjectMapper mapper = new ObjectMapper();
     private String resourceId;
     private String accessorId;
     private String idamRoleWithRoleBaseAccess;
@@ -172,6 +189,32 @@ class FilterResourceIntegrationTest extends PreconfiguredIntegrationBaseTest {
             .build());
     }
 
+    @Test
+    void whenNoExplicitAccessAndMultipleRoleBasedRolesShouldMergePermissionsOfRoles() {
+        String otherIdamRoleWithRoleBaseAccess = UUID.randomUUID().toString();
+        importerService.addRole(otherIdamRoleWithRoleBaseAccess, IDAM, PUBLIC, ROLE_BASED);
+        importerService.grantDefaultPermission(createDefaultPermissionGrant(idamRoleWithRoleBaseAccess, resourceDefinition, PARENT_ATTRIBUTE, ImmutableSet.of(READ)));
+        importerService.grantDefaultPermission(createDefaultPermissionGrant(otherIdamRoleWithRoleBaseAccess, resourceDefinition, PARENT_AND_CHILD_ATTRIBUTE, ImmutableSet.of(CREATE)));
+
+        FilteredResourceEnvelope result = service.filterResource(accessorId,
+            ImmutableSet.of(idamRoleWithRoleBaseAccess, otherIdamRoleWithRoleBaseAccess), createResource(resourceId, resourceDefinition));
+
+        assertThat(result).isEqualTo(FilteredResourceEnvelope.builder()
+            .resource(Resource.builder()
+                .id(resourceId)
+                .definition(resourceDefinition)
+                .data(JsonNodeFactory.instance.objectNode())
+                .build())
+            .access(AccessEnvelope.builder()
+                .permissions(ImmutableMap.of(
+                    JsonPointer.valueOf(PARENT_ATTRIBUTE), ImmutableSet.of(READ),
+                    JsonPointer.valueOf(PARENT_AND_CHILD_ATTRIBUTE), ImmutableSet.of(CREATE, READ)))
+                .accessType(ROLE_BASED)
+                .build())
+            .relationships(ImmutableSet.of())
+            .build());
+    }
+
     @Test
     void whenListOfResourcesShouldReturnListFilteredResourceEnvelope() {
         importerService.grantDefaultPermission(createDefaultPermissionGrant(idamRoleWithRoleBaseAccess, resourceDefinition, "", ImmutableSet.of(READ)));
@@ -253,6 +296,125 @@ class FilterResourceIntegrationTest extends PreconfiguredIntegrationBaseTest {
         assertThat(result).isEqualTo(expectedResult);
     }
 
+    @Test
+    void whenListOfResourcesWithMixedAccessShouldResolveAccessForEveryResource() {
+        ResourceDefinition otherResourceDefinition =
+            createResourceDefinition(serviceName, UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        importerService.addResourceDefinition(otherResourceDefinition);
+        importerService.grantDefaultPermission(createDefaultPermissionGrant(idamRoleWithRoleBaseAccess, resourceDefinition, "", ImmutableSet.of(READ)));
+        service.grantExplicitResourceAccess(createGrantForWholeDocument(
+            resourceId, accessorId, idamRoleWithRoleBaseAccess, resourceDefinition, ImmutableSet.of(CREATE)));
+
+        List<Resource> resources = ImmutableList.of(
+            createResource(resourceId, resourceDefinition),
+            createResource(resourceId + 2, resourceDefinition),
+            createResource(resourceId + 3, otherResourceDefinition));
+
+        List<FilteredResourceEnvelope> result =
+            service.filterResource(accessorId, ImmutableSet.of(idamRoleWithRoleBaseAccess), resources);
+
+        assertThat(result).containsExactly(
+            FilteredResourceEnvelope.builder()
+                .resource(Resource.builder()
+                    .id(resourceId)
+                    .definition(resourceDefinition)
+                    .data(null)
+                    .build())
+                .access(AccessEnvelope.builder()
+                    .permissions(createPermissions("", ImmutableSet.of(CREATE)))
+                    .accessType(EXPLICIT)
+                    .build())
+                .relationships(ImmutableSet.of(idamRoleWithRoleBaseAccess))
+                .build(),
+            FilteredResourceEnvelope.builder()
+                .resource(Resource.builder()
+                    .id(resourceId + 2)
+                    .definition(resourceDefinition)
+                    .data(DATA)
+                    .build())
+                .access(AccessEnvelope.builder()
+                    .permissions(createPermissions("", ImmutableSet.of(READ)))
+                    .accessType(ROLE_BASED)
+                    .build())
+                .relationships(ImmutableSet.of())
+                .build(),
+            null);
+    }
+
+    @Test
+    void whenListOfResourcesIsFilteredInParallelShouldReturnEnvelopesInOrderOfResources() {
+        ForkJoinPool filteringPool = new ForkJoinPool(2);
+        AccessManagementService parallelService = new AccessManagementService(createDataSource(), filteringPool, 2);
+        importerService.grantDefaultPermission(createDefaultPermissionGrant(idamRoleWithRoleBaseAccess, resourceDefinition, "", ImmutableSet.of(READ)));
+        service.grantExplicitResourceAccess(createGrantForWholeDocument(
+            resourceId, accessorId, idamRoleWithRoleBaseAccess, resourceDefinition, ImmutableSet.of(CREATE)));
+
+        List<Resource> resources = IntStream.range(0, 20)
+            .mapToObj(i -> createResource(i == 0 ? resourceId : resourceId + i, resourceDefinition))
+            .collect(toList());
+
+        try {
+            assertThat(parallelService.filterResource(accessorId, ImmutableSet.of(idamRoleWithRoleBaseAccess), resources))
+                .isEqualTo(service.filterResource(accessorId, ImmutableSet.of(idamRoleWithRoleBaseAccess), resources));
+        } finally {
+            filteringPool.shutdown();
+        }
+    }
+
+    @Test
+    void whenListOfResourcesIsFilteredInParallelShouldAuditAccessToEveryResourceOnCallingThread() {
+        ForkJoinPool filteringPool = new ForkJoinPool(2);
+        AccessManagementService parallelService = new AccessManagementService(createDataSource(), filteringPool, 2);
+        importerService.grantDefaultPermission(createDefaultPermissionGrant(idamRoleWithRoleBaseAccess, resourceDefinition, "", ImmutableSet.of(READ)));
+
+        List<Resource> resources = IntStream.range(0, 20)
+            .mapToObj(i -> createResource(resourceId + i, resourceDefinition))
+            .collect(toList());
+
+        List<AuditEvent> events = new CopyOnWriteArrayList<>();
+        AuditSinks.setSink(new AuditSink() {
+            @Override
+            public boolean isEnabled(AuditLog.Severity severity) {
+                return true;
+            }
+
+            @Override
+            public void write(AuditEvent event) {
+                events.add(event);
+            }
+        });
+        MDC.put("caller", "Administrator");
+        try {
+            parallelService.filterResource(accessorId, ImmutableSet.of(idamRoleWithRoleBaseAccess), resources);
+        } finally {
+            AuditSinks.setSink(new LoggingAuditSink());
+            MDC.remove("caller");
+            filteringPool.shutdown();
+        }
+
+        assertThat(events).hasSize(resources.size());
+        for (int i = 0; i < resources.size(); i++) {
+            assertThat(events.get(i).getCaller()).isEqualTo("Administrator");
+            assertThat(events.get(i).getMessage())
+                .contains("filtered access to resource '" + resources.get(i).getId() + "'",
+                    "ROLE_BASED access", "permissions {=[READ]}");
+        }
+    }
+
+    @Test
+    void whenStreamOfResourcesShouldLazilyReturnStreamOfFilteredResourceEnvelopes() {
+        importerService.grantDefaultPermission(createDefaultPermissionGrant(idamRoleWithRoleBaseAccess, resourceDefinition, "", ImmutableSet.of(READ)));
+        List<Resource> resources = IntStream.range(0, 250)
+            .mapToObj(i -> createResource(resourceId + i, resourceDefinition))
+            .collect(toList());
+
+        try (Stream<FilteredResourceEnvelope> result =
+                 service.filterResource(accessorId, ImmutableSet.of(idamRoleWithRoleBaseAccess), resources.stream())) {
+            assertThat(result.collect(toList()))
+                .isEqualTo(service.filterResource(accessorId, ImmutableSet.of(idamRoleWithRoleBaseAccess), resources));
+        }
+    }
+
     @Test
     void whenEmptyListOfResourcesShouldReturnEmptyList() {
         List<Resource> resources = ImmutableList.of();
@@ -340,6 +502,74 @@ class FilterResourceIntegrationTest extends PreconfiguredIntegrationBaseTest {
             .build());
     }
 
+    @Test
+    void whenStreamingResourceAndRowExistsWithReadPermissionsShouldWriteFilteredData() throws IOException {
+        service.grantExplicitResourceAccess(createGrant(resourceId, accessorId, idamRoleWithRoleBaseAccess, resourceDefinition,
+            createPermissions("/name", ImmutableSet.of(READ))));
+
+        ByteArrayOutputStream filteredData = new ByteArrayOutputStream();
+        ResourceAccessEnvelope result = service.filterResource(accessorId, ImmutableSet.of(idamRoleWithRoleBaseAccess),
+            resourceId, resourceDefinition, new ByteArrayInputStream(mapper.writeValueAsBytes(DATA)), filteredData);
+
+        assertThat(result).isEqualTo(ResourceAccessEnvelope.builder()
+            .resourceId(resourceId)
+            .access(AccessEnvelope.builder()
+                .permissions(ImmutableMap.of(JsonPointer.valueOf("/name"), ImmutableSet.of(READ)))
+                .accessType(EXPLICIT)
+                .build())
+            .relationships(ImmutableSet.of(idamRoleWithRoleBaseAccess))
+            .build());
+        assertThat(mapper.readTree(filteredData.toByteArray()))
+            .isEqualTo(JsonNodeFactory.instance.objectNode().put("name", "John"));
+    }
+
+    @Test
+    void whenStreamingResourceAndThereAreNoAccessRecordsShouldReturnNullWithoutWritingData() throws IOException {
+        ByteArrayOutputStream filteredData = new ByteArrayOutputStream();
+        ResourceAccessEnvelope result = service.filterResource(accessorId, ImmutableSet.of(idamRoleWithExplicitAccess),
+            resourceId, resourceDefinition, new ByteArrayInputStream(mapper.writeValueAsBytes(DATA)), filteredData);
+
+        assertThat(result).isNull();
+        assertThat(filteredData.size()).isZero();
+    }
+
+    @Test
+    void whenGettingResourceAccessShouldReturnEnvelopeWithoutRequiringData() {
+        service.grantExplicitResourceAccess(createGrant(resourceId, accessorId, idamRoleWithRoleBaseAccess, resourceDefinition,
+            createPermissions("/age", ImmutableSet.of(READ))));
+
+        ResourceAccessEnvelope result = service.getResourceAccess(accessorId, ImmutableSet.of(idamRoleWithRoleBaseAccess),
+            resourceId, resourceDefinition);
+
+        assertThat(result).isEqualTo(ResourceAccessEnvelope.builder()
+            .resourceId(resourceId)
+            .access(AccessEnvelope.builder()
+                .permissions(ImmutableMap.of(JsonPointer.valueOf("/age"), ImmutableSet.of(READ)))
+                .accessType(EXPLICIT)
+                .build())
+            .relationships(ImmutableSet.of(idamRoleWithRoleBaseAccess))
+            .build());
+    }
+
+    @Test
+    void whenGettingResourceAccessAndNoExplicitAccessShouldUseRoleBasedAccess() {
+        importerService.grantDefaultPermission(createDefaultPermissionGrant(idamRoleWithRoleBaseAccess, resourceDefinition, "", ImmutableSet.of(READ)));
+
+        ResourceAccessEnvelope result = service.getResourceAccess(accessorId, ImmutableSet.of(idamRoleWithRoleBaseAccess),
+            resourceId, resourceDefinition);
+
+        assertThat(result.getAccess()).isEqualTo(AccessEnvelope.builder()
+            .permissions(ImmutableMap.of(ROOT_ATTRIBUTE, ImmutableSet.of(READ)))
+            .accessType(ROLE_BASED)
+            .build());
+    }
+
+    @Test
+    void whenGettingResourceAccessAndThereAreNoAccessRecordsShouldReturnNull() {
+        assertThat(service.getResourceAccess(accessorId, ImmutableSet.of(idamRoleWithExplicitAccess),
+            resourceId, resourceDefinition)).isNull();
+    }
+
     private DefaultPermissionGrant createDefaultPermissionGrant(String roleName,
                                                                 ResourceDefinition resourceDefinition,
                                                                 String attribute,
@@ -350,4 +580,18 @@ class FilterResourceIntegrationTest extends PreconfiguredIntegrationBaseTest {
             .attributePermissions(createPermissionsForAttribute(JsonPointer.valueOf(attribute), permissions, PUBLIC))
             .build();
     }
+
+    @Test
+    void whenFilteringResourceShouldRecordStatisticsOfQueries() {
+        service.grantExplicitResourceAccess(createGrantForWholeDocument(
+            resourceId, accessorId, idamRoleWithRoleBaseAccess, resourceDefinition, ImmutableSet.of(READ)));
+
+        service.filterResource(accessorId, ImmutableSet.of(idamRoleWithRoleBaseAccess),
+            createResource(resourceId, resourceDefinition));
+
+        assertThat(service.getQueryStatistics().get("AccessManagementRepository.getExplicitAccess").getExecutionCount())
+            .isPositive();
+        assertThat(service.getQueryStatistics().get("AccessManagementRepository.createAccessManagementRecords")
+            .getFailureCount()).isZero();
+    }
 }
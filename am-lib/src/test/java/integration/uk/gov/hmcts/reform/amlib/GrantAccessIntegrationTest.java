@@ -15,12 +15,19 @@ import uk.gov.hmcts.reform.amlib.internal.models.ExplicitAccessRecord;
 import uk.gov.hmcts.reform.amlib.models.ExplicitAccessGrant;
 import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
 import static uk.gov.hmcts.reform.amlib.enums.AccessType.ROLE_BASED;
 import static uk.gov.hmcts.reform.amlib.enums.AccessorType.USER;
 import static uk.gov.hmcts.reform.amlib.enums.Permission.CREATE;
@@ -33,6 +40,7 @@ import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createGrant;
 import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createGrantForWholeDocument;
 import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createPermissions;
 
+@SuppressWarnings({"PMD.ExcessiveImports", "PMD.TooManyMethods"})
 class GrantAccessIntegrationTest extends PreconfiguredIntegrationBaseTest {
     private static AccessManagementService service = initService(AccessManagementService.class);
     private static DefaultRoleSetupImportService importerService = initService(DefaultRoleSetupImportService.class);
@@ -90,6 +98,31 @@ class GrantAccessIntegrationTest extends PreconfiguredIntegrationBaseTest {
             .extracting(ExplicitAccessRecord::getAccessorId).containsOnly("User1", "User2");
     }
 
+    @Test
+    void whenCreatingResourceAccessForMoreRecordsThanBatchSizeAllEntriesAppearInDatabase() {
+        // 2 attributes for each of 501 accessors make 1002 records, which exceeds 2 insert batches of 500 records
+        Set<String> accessorIds = IntStream.range(0, 501).mapToObj(i -> "User" + i).collect(toSet());
+        Map<JsonPointer, Set<Permission>> multipleAttributePermissions = ImmutableMap.of(
+            JsonPointer.valueOf(""), ImmutableSet.of(READ),
+            JsonPointer.valueOf("/name"), ImmutableSet.of(READ, UPDATE));
+
+        service.grantExplicitResourceAccess(ExplicitAccessGrant.builder()
+            .resourceId(resourceId)
+            .accessorIds(accessorIds)
+            .accessorType(USER)
+            .resourceDefinition(resourceDefinition)
+            .attributePermissions(multipleAttributePermissions)
+            .relationship(roleName)
+            .build());
+
+        List<ExplicitAccessRecord> records = databaseHelper.findExplicitPermissions(resourceId);
+        assertThat(records).hasSize(1002);
+        assertThat(records).extracting(ExplicitAccessRecord::getAccessorId).containsOnlyElementsOf(accessorIds)
+            .containsAll(accessorIds);
+        assertThat(records.stream().collect(groupingBy(ExplicitAccessRecord::getAttribute, counting())))
+            .containsOnly(entry(JsonPointer.valueOf(""), 501L), entry(JsonPointer.valueOf("/name"), 501L));
+    }
+
     @Test
     void whenCreatingResourceWithInvalidRelationshipShouldThrowPersistenceException() {
         ExplicitAccessGrant nonExistingRole = createGrant(resourceId, accessorId, "NonExistingRoleName",
@@ -100,6 +133,59 @@ class GrantAccessIntegrationTest extends PreconfiguredIntegrationBaseTest {
             .withMessageContaining("(relationship)=(NonExistingRoleName) is not present in table \"roles\"");
     }
 
+    @Test
+    void whenBulkGrantingResourceAccessAllEntriesAppearInDatabase() {
+        Map<JsonPointer, Set<Permission>> multipleAttributePermissions = ImmutableMap.of(
+            JsonPointer.valueOf(""), ImmutableSet.of(READ),
+            JsonPointer.valueOf("/name\twith\\special\ncharacters"), ImmutableSet.of(CREATE, READ, UPDATE));
+
+        int mergedRecords = service.bulkGrantExplicitResourceAccess(Stream.of(
+            createGrant(resourceId, accessorId, roleName, resourceDefinition, multipleAttributePermissions),
+            createPermissionsForResourceForMultipleUsers(resourceId, ImmutableSet.of("User3", "User4"))));
+
+        assertThat(mergedRecords).isEqualTo(4);
+        assertThat(databaseHelper.findExplicitPermissions(resourceId))
+            .extracting(ExplicitAccessRecord::getAttribute)
+            .containsOnly(JsonPointer.valueOf(""), JsonPointer.valueOf("/name\twith\\special\ncharacters"));
+    }
+
+    @Test
+    void whenBulkGrantingDuplicateResourceAccessLastEntryWins() {
+        service.grantExplicitResourceAccess(createGrantForWholeDocument(
+            resourceId, accessorId, roleName, resourceDefinition, ImmutableSet.of(READ)));
+
+        service.bulkGrantExplicitResourceAccess(Stream.of(
+            createGrantForWholeDocument(
+                resourceId, accessorId, roleName, resourceDefinition, ImmutableSet.of(CREATE)),
+            createGrantForWholeDocument(
+                resourceId, accessorId, roleName, resourceDefinition, ImmutableSet.of(UPDATE))));
+
+        assertThat(databaseHelper.findExplicitPermissions(resourceId)).hasSize(1)
+            .extracting(ExplicitAccessRecord::getPermissions).containsOnly(ImmutableSet.of(UPDATE));
+    }
+
+    @Test
+    void whenBulkGrantingInvalidGrantNothingAppearsInDatabase() {
+        ExplicitAccessGrant invalidGrant = createGrantForWholeDocument(
+            resourceId, "", roleName, resourceDefinition, ImmutableSet.of(READ));
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> service.bulkGrantExplicitResourceAccess(Stream.of(
+                createPermissionsForResourceForMultipleUsers(resourceId, ImmutableSet.of("User5")), invalidGrant)));
+
+        assertThat(databaseHelper.countExplicitPermissions(resourceId)).isEqualTo(0);
+    }
+
+    @Test
+    void whenBulkGrantingResourceWithInvalidRelationshipShouldThrowPersistenceException() {
+        ExplicitAccessGrant nonExistingRole = createGrant(resourceId, accessorId, "NonExistingRoleName",
+            resourceDefinition, createPermissions("", ImmutableSet.of(CREATE, READ, UPDATE)));
+
+        assertThatExceptionOfType(PersistenceException.class)
+            .isThrownBy(() -> service.bulkGrantExplicitResourceAccess(Stream.of(nonExistingRole)))
+            .withMessageContaining("(relationship)=(NonExistingRoleName) is not present in table \"roles\"");
+    }
+
     private ExplicitAccessGrant createPermissionsForResourceForMultipleUsers(String resourceId,
                                                                              Set<String> accessorIds) {
         return ExplicitAccessGrant.builder()
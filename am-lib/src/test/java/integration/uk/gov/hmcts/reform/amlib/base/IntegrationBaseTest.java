@@ -1,15 +1,17 @@
 package integration.uk.gov.hmcts.reform.amlib.base;
 
-import com.google.common.collect.ImmutableMap;
+import integration.uk.gov.hmcts.reform.amlib.helpers.DatabaseContainers;
 import integration.uk.gov.hmcts.reform.amlib.helpers.DatabaseHelperRepository;
-import org.flywaydb.core.Flyway;
-import org.flywaydb.core.api.configuration.FluentConfiguration;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.sqlobject.SqlObjectPlugin;
 import org.junit.jupiter.api.BeforeAll;
+import org.postgresql.ds.PGSimpleDataSource;
 import org.testcontainers.containers.PostgreSQLContainer;
+import uk.gov.hmcts.reform.amlib.internal.cache.DefaultPermissionsCache;
+import uk.gov.hmcts.reform.amlib.internal.cache.RoleCache;
 
 import java.lang.reflect.Constructor;
+import javax.sql.DataSource;
 
 @SuppressWarnings({
     "PMD.AbstractClassWithoutAbstractMethod",
@@ -22,9 +24,7 @@ public abstract class IntegrationBaseTest {
     private static final PostgreSQLContainer db;
 
     static {
-        db = createDatabaseContainer();
-        db.start();
-        initSchema();
+        db = DatabaseContainers.startMigratedDatabase("postgres:10");
 
         databaseHelper = Jdbi.create(db.getJdbcUrl(), db.getUsername(), db.getPassword())
             .installPlugin(new SqlObjectPlugin())
@@ -34,6 +34,8 @@ public abstract class IntegrationBaseTest {
     @BeforeAll
     protected static void cleanupDatabase() {
         databaseHelper.truncateTables();
+        RoleCache.invalidateAllInstances();
+        DefaultPermissionsCache.invalidateAllInstances();
     }
 
     protected static <T> T initService(Class<T> serviceClass) {
@@ -45,21 +47,11 @@ public abstract class IntegrationBaseTest {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static PostgreSQLContainer createDatabaseContainer() {
-        return (PostgreSQLContainer) new PostgreSQLContainer("postgres:10")
-            .withUsername("sa")
-            .withPassword("")
-            .withTmpFs(ImmutableMap.of("/var/lib/postgresql/data", "rw"));
-    }
-
-    private static void initSchema() {
-        FluentConfiguration configuration = new FluentConfiguration();
-        configuration.dataSource(db.getJdbcUrl(), db.getUsername(), db.getPassword());
-        // Due sql migrations have to be in main resources, there are not added to classpath
-        // so workaround is to pass relative path to them
-        configuration.locations("filesystem:src/main/resources/db/migration");
-        Flyway flyway = new Flyway(configuration);
-        flyway.migrate();
+    protected static DataSource createDataSource() {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(db.getJdbcUrl());
+        dataSource.setUser(db.getUsername());
+        dataSource.setPassword(db.getPassword());
+        return dataSource;
     }
 }
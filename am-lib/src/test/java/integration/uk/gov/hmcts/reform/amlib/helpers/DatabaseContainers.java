@@ -0,0 +1,33 @@
+package integration.uk.gov.hmcts.reform.amlib.helpers;
+
+import com.google.common.collect.ImmutableMap;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+public final class DatabaseContainers {
+
+    private DatabaseContainers() {
+        //NO-OP
+    }
+
+    /**
+     * Starts database container of given PostgreSQL image and migrates its schema to the latest version.
+     */
+    @SuppressWarnings("unchecked")
+    public static PostgreSQLContainer startMigratedDatabase(String image) {
+        PostgreSQLContainer db = (PostgreSQLContainer) new PostgreSQLContainer(image)
+            .withUsername("sa")
+            .withPassword("")
+            .withTmpFs(ImmutableMap.of("/var/lib/postgresql/data", "rw"));
+        db.start();
+
+        FluentConfiguration configuration = new FluentConfiguration();
+        configuration.dataSource(db.getJdbcUrl(), db.getUsername(), db.getPassword());
+        // Due sql migrations have to be in main resources, there are not added to classpath
+        // so workaround is to pass relative path to them
+        configuration.locations("filesystem:src/main/resources/db/migration");
+        new Flyway(configuration).migrate();
+        return db;
+    }
+}
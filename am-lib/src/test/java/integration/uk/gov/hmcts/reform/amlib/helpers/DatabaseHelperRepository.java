@@ -59,8 +59,9 @@ public interface DatabaseHelperRepository {
         + "where resource_id = :resourceId")
     int countExplicitPermissions(String resourceId);
 
-    @SqlQuery("select * from access_management "
-        + "where resource_id = :resourceId")
+    @SqlQuery("select am.*, r.service_name, r.resource_type, r.resource_name from access_management am "
+        + "join resources r on r.id = am.resource_definition_id "
+        + "where am.resource_id = :resourceId")
     @RegisterConstructorMapper(ExplicitAccessRecord.class)
     List<ExplicitAccessRecord> findExplicitPermissions(String resourceId);
 
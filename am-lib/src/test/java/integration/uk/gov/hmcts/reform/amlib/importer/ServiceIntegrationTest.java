@@ -3,15 +3,22 @@ package integration.uk.gov.hmcts.reform.amlib.importer;
 import integration.uk.gov.hmcts.reform.amlib.base.IntegrationBaseTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.AccessManagementService;
 import uk.gov.hmcts.reform.amlib.DefaultRoleSetupImportService;
 import uk.gov.hmcts.reform.amlib.internal.models.Service;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
 
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.amlib.enums.AccessType.ROLE_BASED;
+import static uk.gov.hmcts.reform.amlib.enums.RoleType.IDAM;
+import static uk.gov.hmcts.reform.amlib.enums.SecurityClassification.PUBLIC;
+import static uk.gov.hmcts.reform.amlib.helpers.DefaultRoleSetupDataFactory.createResourceDefinition;
 
 class ServiceIntegrationTest extends IntegrationBaseTest {
     private static DefaultRoleSetupImportService service = initService(DefaultRoleSetupImportService.class);
+    private static AccessManagementService accessManagementService = initService(AccessManagementService.class);
     private String serviceName;
 
     @BeforeEach
@@ -46,4 +53,20 @@ class ServiceIntegrationTest extends IntegrationBaseTest {
 
         assertThat(databaseHelper.getService(serviceName)).isNull();
     }
+
+    @Test
+    void shouldReloadDefaultPermissionsOfServiceWhenServiceIsDeleted() {
+        String roleName = UUID.randomUUID().toString();
+        ResourceDefinition resourceDefinition = createResourceDefinition(serviceName, "case", "claim");
+        service.addService(serviceName);
+        service.addRole(roleName, IDAM, PUBLIC, ROLE_BASED);
+        accessManagementService.getRolePermissions(resourceDefinition, roleName);
+        long missCount = accessManagementService.getDefaultPermissionsCacheStatistics().getMissCount();
+
+        service.deleteService(serviceName);
+
+        assertThat(accessManagementService.getRolePermissions(resourceDefinition, roleName)).isNull();
+        assertThat(accessManagementService.getDefaultPermissionsCacheStatistics().getMissCount())
+            .isEqualTo(missCount + 1);
+    }
 }
@@ -1,22 +1,36 @@
 package uk.gov.hmcts.reform.amlib;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ArgumentsSource;
+import uk.gov.hmcts.reform.amlib.enums.ValidationMode;
 import uk.gov.hmcts.reform.amlib.helpers.InvalidArgumentsProvider;
 import uk.gov.hmcts.reform.amlib.models.ExplicitAccessGrant;
 import uk.gov.hmcts.reform.amlib.models.ExplicitAccessMetadata;
 import uk.gov.hmcts.reform.amlib.models.Resource;
 import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static uk.gov.hmcts.reform.amlib.helpers.DefaultRoleSetupDataFactory.createResourceDefinition;
+import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createResource;
 import static uk.gov.hmcts.reform.amlib.helpers.ValidationMessageRegexFactory.expectedValidationMessagesRegex;
 
 @SuppressWarnings("PMD.LinguisticNaming")
 class AccessManagementServiceValidationTest {
     private final AccessManagementService service = new AccessManagementService("", "", "");
 
+    @AfterEach
+    void resetValidationMode() {
+        ValidationSettings.setMode(ValidationMode.FULL);
+    }
+
     @ParameterizedTest
     @ArgumentsSource(InvalidArgumentsProvider.class)
     void grantExplicitResourceAccessMethodShouldRejectInvalidArguments(ExplicitAccessGrant accessGrant) {
@@ -74,6 +88,31 @@ class AccessManagementServiceValidationTest {
             ));
     }
 
+    @ParameterizedTest
+    @ArgumentsSource(InvalidArgumentsProvider.class)
+    void filterResourceMethodWithStreamsShouldRejectInvalidArguments(String userId,
+                                                                     Set<String> userRoles,
+                                                                     String resourceId,
+                                                                     ResourceDefinition resourceDefinition,
+                                                                     InputStream resourceData,
+                                                                     OutputStream filteredResourceData) {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> service.filterResource(
+                userId, userRoles, resourceId, resourceDefinition, resourceData, filteredResourceData))
+            .withMessageMatching(expectedValidationMessagesRegex(
+                "userId - must not be blank",
+                "userRoles - must not be empty",
+                "userRoles\\[\\].<iterable element> - must not be blank",
+                "resourceId - must not be blank",
+                "resourceDefinition - must not be null",
+                "resourceDefinition.serviceName - must not be blank",
+                "resourceDefinition.resourceType - must not be blank",
+                "resourceDefinition.resourceName - must not be blank",
+                "resourceData - must not be null",
+                "filteredResourceData - must not be null"
+            ));
+    }
+
     @ParameterizedTest
     @ArgumentsSource(InvalidArgumentsProvider.class)
     void getRolePermissionsMethodShouldRejectInvalidArguments(ResourceDefinition resourceDefinition, String roleName) {
@@ -98,4 +137,24 @@ class AccessManagementServiceValidationTest {
                 "userRoles\\[\\].<iterable element> - must not be blank"
             ));
     }
+
+    @Test
+    void filterResourceMethodShouldRejectInvalidResourceInList() {
+        Resource resource = createResource(" ", createResourceDefinition("fpl", "case", "claim"));
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> service.filterResource("user", ImmutableSet.of("caseworker"),
+                ImmutableList.of(resource)))
+            .withMessageMatching(expectedValidationMessagesRegex("resources\\[0\\].id - must not be blank"));
+    }
+
+    @Test
+    void filterResourceMethodInShallowValidationModeShouldRejectInvalidArguments() {
+        ValidationSettings.setMode(ValidationMode.SHALLOW);
+        Resource resource = createResource("resource", createResourceDefinition("fpl", "case", "claim"));
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> service.filterResource(" ", ImmutableSet.of("caseworker"), resource))
+            .withMessageMatching(expectedValidationMessagesRegex("userId - must not be blank"));
+    }
 }
@@ -0,0 +1,105 @@
+package uk.gov.hmcts.reform.amlib;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.exceptions.PersistenceException;
+import uk.gov.hmcts.reform.amlib.models.ExplicitAccessGrant;
+import uk.gov.hmcts.reform.amlib.models.FilteredResourceEnvelope;
+import uk.gov.hmcts.reform.amlib.models.Resource;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.READ;
+import static uk.gov.hmcts.reform.amlib.helpers.DefaultRoleSetupDataFactory.createResourceDefinition;
+import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createGrantForWholeDocument;
+import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createResource;
+
+@SuppressWarnings("PMD.DoNotUseThreads") // Submitted operations are collected to be run by the test itself
+class AsyncAccessManagementServiceTest {
+    private static final String RESOURCE_ID = "resource";
+    private static final String USER_ID = "user";
+    private static final String ROLE_NAME = "caseworker";
+    private static final Set<String> USER_ROLES = ImmutableSet.of(ROLE_NAME);
+    private static final ResourceDefinition RESOURCE_DEFINITION = createResourceDefinition("fpl", "case", "claim");
+
+    private final List<Runnable> submittedTasks = new ArrayList<>();
+    private final AccessManagementService delegate = mock(AccessManagementService.class);
+    private final AsyncAccessManagementService service =
+        new AsyncAccessManagementService(delegate, submittedTasks::add);
+
+    @Test
+    void whenFilteringResourceShouldRunOperationOnExecutor() throws Exception {
+        Resource resource = createResource(RESOURCE_ID, RESOURCE_DEFINITION);
+        FilteredResourceEnvelope envelope = FilteredResourceEnvelope.builder().build();
+        when(delegate.filterResource(USER_ID, USER_ROLES, resource)).thenReturn(envelope);
+
+        CompletableFuture<FilteredResourceEnvelope> result = service.filterResource(USER_ID, USER_ROLES, resource);
+
+        assertThat(result).isNotDone();
+        assertThat(submittedTasks).hasSize(1);
+
+        runSubmittedTasks();
+
+        assertThat(result.get()).isSameAs(envelope);
+    }
+
+    @Test
+    void whenFilteringListOfResourcesShouldCompleteFutureWithResultOfDelegate() throws Exception {
+        List<Resource> resources = ImmutableList.of(createResource(RESOURCE_ID, RESOURCE_DEFINITION));
+        List<FilteredResourceEnvelope> envelopes = ImmutableList.of(FilteredResourceEnvelope.builder().build());
+        when(delegate.filterResource(USER_ID, USER_ROLES, resources)).thenReturn(envelopes);
+
+        CompletableFuture<List<FilteredResourceEnvelope>> result =
+            service.filterResource(USER_ID, USER_ROLES, resources);
+        runSubmittedTasks();
+
+        assertThat(result.get()).isSameAs(envelopes);
+    }
+
+    @Test
+    void whenDelegateFailsShouldCompleteFutureExceptionally() {
+        ExplicitAccessGrant grant = createGrantForWholeDocument(
+            RESOURCE_ID, USER_ID, ROLE_NAME, RESOURCE_DEFINITION, ImmutableSet.of(READ));
+        PersistenceException exception = new PersistenceException(new IllegalStateException());
+        doThrow(exception).when(delegate).grantExplicitResourceAccess(grant);
+
+        CompletableFuture<Void> result = service.grantExplicitResourceAccess(grant);
+        runSubmittedTasks();
+
+        assertThatExceptionOfType(ExecutionException.class)
+            .isThrownBy(result::get)
+            .withCause(exception);
+    }
+
+    @Test
+    void whenArgumentsAreInvalidShouldThrowBeforeSubmittingOperation() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> service.getRolePermissions(RESOURCE_DEFINITION, ""));
+
+        assertThat(submittedTasks).isEmpty();
+    }
+
+    @Test
+    void whenServiceOrExecutorIsMissingShouldThrowOnConstruction() {
+        assertThatExceptionOfType(NullPointerException.class)
+            .isThrownBy(() -> new AsyncAccessManagementService(null, submittedTasks::add));
+        assertThatExceptionOfType(NullPointerException.class)
+            .isThrownBy(() -> new AsyncAccessManagementService(delegate, null));
+    }
+
+    private void runSubmittedTasks() {
+        submittedTasks.forEach(Runnable::run);
+        submittedTasks.clear();
+    }
+}
@@ -0,0 +1,94 @@
+package uk.gov.hmcts.reform.amlib;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.internal.cache.DefaultPermissionsCache;
+import uk.gov.hmcts.reform.amlib.internal.cache.RoleCache;
+import uk.gov.hmcts.reform.amlib.internal.models.Role;
+import uk.gov.hmcts.reform.amlib.internal.models.query.AttributeData;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.amlib.enums.AccessType.ROLE_BASED;
+import static uk.gov.hmcts.reform.amlib.enums.RoleType.IDAM;
+import static uk.gov.hmcts.reform.amlib.enums.SecurityClassification.PUBLIC;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class CacheInvalidationListenerTest {
+
+    private final CacheInvalidationListener listener =
+        new CacheInvalidationListener("jdbc:postgresql://localhost/am", "", "");
+    private final RoleCache roleCache = new RoleCache();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Set<String>, Set<Role>> loader = roleNames -> {
+        loads.incrementAndGet();
+        return ImmutableSet.of(new Role("caseworker", IDAM, PUBLIC, ROLE_BASED));
+    };
+
+    @BeforeEach
+    void setUp() {
+        roleCache.getRoles(ImmutableSet.of("caseworker", "solicitor"), loader);
+    }
+
+    @Test
+    void whenRoleIsModifiedShouldInvalidateOnlyModifiedRole() {
+        listener.handleNotification("{\"table\": \"roles\", \"roleName\": \"solicitor\"}");
+
+        roleCache.getRoles(ImmutableSet.of("caseworker"), loader);
+        assertThat(loads).hasValue(1);
+
+        roleCache.getRoles(ImmutableSet.of("solicitor"), loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenRolesAreTruncatedShouldInvalidateAllRoles() {
+        listener.handleNotification("{\"table\": \"roles\"}");
+
+        roleCache.getRoles(ImmutableSet.of("caseworker"), loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenNotificationIsMalformedShouldInvalidateAllRoles() {
+        listener.handleNotification("roles");
+
+        roleCache.getRoles(ImmutableSet.of("caseworker"), loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenNotificationIsForUnknownTableShouldNotInvalidateRoles() {
+        listener.handleNotification("{\"table\": \"services\"}");
+
+        roleCache.getRoles(ImmutableSet.of("caseworker"), loader);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void whenDefaultPermissionsAreModifiedShouldInvalidateOnlyModifiedResourceDefinition() {
+        DefaultPermissionsCache defaultPermissionsCache = new DefaultPermissionsCache();
+        ResourceDefinition claim = new ResourceDefinition("cmc", "case", "claim");
+        ResourceDefinition defence = new ResourceDefinition("cmc", "case", "defence");
+        Function<ResourceDefinition, List<AttributeData>> attributeDataLoader = resourceDefinition -> {
+            loads.incrementAndGet();
+            return ImmutableList.of();
+        };
+        defaultPermissionsCache.getSnapshot(claim, attributeDataLoader);
+        defaultPermissionsCache.getSnapshot(defence, attributeDataLoader);
+
+        listener.handleNotification("{\"table\": \"default_permissions_for_roles\", "
+            + "\"serviceName\": \"cmc\", \"resourceType\": \"case\", \"resourceName\": \"claim\"}");
+
+        defaultPermissionsCache.getSnapshot(claim, attributeDataLoader);
+        defaultPermissionsCache.getSnapshot(defence, attributeDataLoader);
+        assertThat(loads).hasValue(4);
+    }
+}
@@ -0,0 +1,174 @@
+package uk.gov.hmcts.reform.amlib.audit;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog;
+import uk.gov.hmcts.reform.amlib.models.AuditEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class AsyncAuditSinkTest {
+
+    @Test
+    void whenClosedShouldWriteAllEventsInOrderAndCloseUnderlyingSink() {
+        RecordingAuditSink delegate = new RecordingAuditSink();
+        AsyncAuditSink sink = new AsyncAuditSink(delegate, 4, 2, AsyncAuditSink.OverflowPolicy.BLOCK);
+
+        IntStream.range(0, 100).forEach(i -> sink.write(createEvent(i)));
+        sink.close();
+
+        assertThat(delegate.getMessages()).isEqualTo(IntStream.range(0, 100)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.toList()));
+        assertThat(delegate.closed.get()).isTrue();
+        assertThat(sink.getDroppedEvents()).isZero();
+    }
+
+    @Test
+    void whenBufferIsFullAndPolicyIsDropShouldDropAndCountEvents() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingAuditSink delegate = new RecordingAuditSink(release);
+        AsyncAuditSink sink = new AsyncAuditSink(delegate, 2, 1, AsyncAuditSink.OverflowPolicy.DROP);
+
+        sink.write(createEvent(0));
+        delegate.awaitFirstBatch();
+        IntStream.range(1, 10).forEach(i -> sink.write(createEvent(i)));
+        release.countDown();
+        sink.close();
+
+        assertThat(delegate.getMessages()).containsExactly("0", "1", "2");
+        assertThat(sink.getDroppedEvents()).isEqualTo(7);
+    }
+
+    @Test
+    void whenUnderlyingSinkFailsShouldDropAndCountEventsOfFailedBatches() {
+        RecordingAuditSink delegate = new RecordingAuditSink() {
+            @Override
+            public void write(AuditEvent event) {
+                throw new IllegalStateException("Cannot write audit event");
+            }
+        };
+        AsyncAuditSink sink = new AsyncAuditSink(delegate, 4, 2, AsyncAuditSink.OverflowPolicy.BLOCK);
+
+        IntStream.range(0, 10).forEach(i -> sink.write(createEvent(i)));
+        sink.close();
+
+        assertThat(sink.getDroppedEvents()).isEqualTo(10);
+        assertThat(delegate.closed.get()).isTrue();
+    }
+
+    @Test
+    void whenUnderlyingSinkThrowsErrorShouldKeepWritingAndNotBlockCallers() {
+        RecordingAuditSink delegate = new RecordingAuditSink() {
+            @Override
+            public void write(AuditEvent event) {
+                if (event.getMessage().startsWith("failing")) {
+                    throw new AssertionError("Cannot write audit event");
+                }
+                super.write(event);
+            }
+        };
+        AsyncAuditSink sink = new AsyncAuditSink(delegate, 4, 1, AsyncAuditSink.OverflowPolicy.BLOCK);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            IntStream.range(0, 10).forEach(i -> sink.write(createEvent("failing" + i)));
+            sink.write(createEvent("written"));
+            sink.close();
+        });
+
+        assertThat(delegate.getMessages()).containsExactly("written");
+        assertThat(sink.getDroppedEvents()).isEqualTo(10);
+    }
+
+    @Test
+    void whenBatchSizeIsNotPositiveShouldThrowException() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> new AsyncAuditSink(new RecordingAuditSink(), 4, 0, AsyncAuditSink.OverflowPolicy.BLOCK))
+            .withMessage("Batch size must be positive");
+    }
+
+    @Test
+    void whenDelegateIsMissingShouldThrowException() {
+        assertThatExceptionOfType(NullPointerException.class)
+            .isThrownBy(() -> new AsyncAuditSink(null));
+    }
+
+    @Test
+    void whenSinkIsClosedShouldDropAndCountEvents() {
+        RecordingAuditSink delegate = new RecordingAuditSink();
+        AsyncAuditSink sink = new AsyncAuditSink(delegate);
+        sink.close();
+
+        sink.write(createEvent(0));
+
+        assertThat(delegate.getMessages()).isEmpty();
+        assertThat(sink.getDroppedEvents()).isEqualTo(1);
+    }
+
+    private static AuditEvent createEvent(int number) {
+        return createEvent(String.valueOf(number));
+    }
+
+    private static AuditEvent createEvent(String message) {
+        return AuditEvent.builder()
+            .timestamp(Instant.now())
+            .severity(AuditLog.Severity.INFO)
+            .message(message)
+            .build();
+    }
+
+    private static class RecordingAuditSink implements AuditSink {
+        private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch firstBatch = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        RecordingAuditSink() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingAuditSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public boolean isEnabled(AuditLog.Severity severity) {
+            return true;
+        }
+
+        @Override
+        public void write(AuditEvent event) {
+            messages.add(event.getMessage());
+            firstBatch.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+
+        List<String> getMessages() {
+            return new ArrayList<>(messages);
+        }
+
+        void awaitFirstBatch() throws InterruptedException {
+            firstBatch.await();
+        }
+    }
+}
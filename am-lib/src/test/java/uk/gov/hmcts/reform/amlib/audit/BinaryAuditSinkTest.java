@@ -0,0 +1,164 @@
+package uk.gov.hmcts.reform.amlib.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.gov.hmcts.reform.amlib.internal.aspects.AuditLog;
+import uk.gov.hmcts.reform.amlib.models.AuditEntry;
+import uk.gov.hmcts.reform.amlib.models.AuditEvent;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static uk.gov.hmcts.reform.amlib.enums.AccessType.EXPLICIT;
+import static uk.gov.hmcts.reform.amlib.enums.AccessType.ROLE_BASED;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.CREATE;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.READ;
+import static uk.gov.hmcts.reform.amlib.helpers.DefaultRoleSetupDataFactory.createResourceDefinition;
+import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createPermissions;
+
+class BinaryAuditSinkTest {
+    private static final String CALLER = "caller";
+    private static final String ACCESSOR_ID = "accessor";
+    private static final String GET_ROLE_PERMISSIONS = "AccessManagementService.getRolePermissions";
+    private static final ResourceDefinition RESOURCE_DEFINITION = createResourceDefinition("fpl", "case", "claim");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void whenFilterEventIsWrittenShouldReadItAsJson(@TempDir Path directory) throws IOException {
+        try (BinaryAuditSink sink = new BinaryAuditSink(directory)) {
+            sink.write(createEvent("AccessManagementService.filterResource", AuditEntry.builder()
+                .resourceId("resource")
+                .resourceDefinition(RESOURCE_DEFINITION)
+                .accessors(ImmutableSet.of(ACCESSOR_ID))
+                .accessType(ROLE_BASED)
+                .permissions(createPermissions("/name", ImmutableSet.of(CREATE, READ)))
+                .build()));
+        }
+
+        List<JsonNode> records = readRecords(directory);
+
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0)).isEqualTo(mapper.readTree("{"
+            + "\"timestamp\": \"1970-01-01T00:00:00Z\", \"severity\": \"INFO\","
+            + "\"method\": \"AccessManagementService.filterResource\", \"caller\": \"caller\","
+            + "\"entries\": [{\"resourceId\": \"resource\","
+            + "\"resourceDefinition\": {\"serviceName\": \"fpl\", \"resourceType\": \"case\","
+            + "\"resourceName\": \"claim\"},"
+            + "\"accessType\": \"ROLE_BASED\", \"accessors\": [\"accessor\"], \"permissions\": {\"/name\": 3}}]}"));
+    }
+
+    @Test
+    void whenEventsDoNotFitIntoSegmentShouldRotateSegments(@TempDir Path directory) throws IOException {
+        try (BinaryAuditSink sink = new BinaryAuditSink(directory, 512)) {
+            for (int i = 0; i < 10; i++) {
+                sink.write(createEvent("AccessManagementService.grantExplicitResourceAccess", AuditEntry.builder()
+                    .resourceId("resource" + i)
+                    .resourceDefinition(RESOURCE_DEFINITION)
+                    .accessors(ImmutableSet.of(ACCESSOR_ID))
+                    .accessType(EXPLICIT)
+                    .permissions(createPermissions("", ImmutableSet.of(READ)))
+                    .build()));
+            }
+        }
+
+        List<JsonNode> records = readRecords(directory);
+
+        assertThat(Files.list(directory).count()).isGreaterThan(1);
+        assertThat(records).extracting(record -> record.at("/entries/0/resourceId").asText())
+            .containsExactly("resource0", "resource1", "resource2", "resource3", "resource4",
+                "resource5", "resource6", "resource7", "resource8", "resource9");
+        assertThat(records).extracting(record -> record.at("/entries/0/accessType").asText())
+            .containsOnly(EXPLICIT.name());
+    }
+
+    @Test
+    void whenSinkIsReopenedShouldStartNewSegment(@TempDir Path directory) throws IOException {
+        try (BinaryAuditSink sink = new BinaryAuditSink(directory)) {
+            sink.write(createEvent(GET_ROLE_PERMISSIONS));
+        }
+        try (BinaryAuditSink sink = new BinaryAuditSink(directory)) {
+            sink.write(createEvent(GET_ROLE_PERMISSIONS));
+        }
+
+        assertThat(Files.list(directory).count()).isEqualTo(2);
+        assertThat(readRecords(directory)).hasSize(2);
+    }
+
+    @Test
+    void whenSegmentCannotBeOpenedShouldThrowExceptionAndOpenNextSegmentOnNextWrite(@TempDir Path directory)
+        throws IOException {
+        Path conflictingFile = Files.createDirectory(directory.resolve("conflict"));
+        try (BinaryAuditSink sink = new BinaryAuditSink(directory)) {
+            Files.move(conflictingFile, BinaryAuditFormat.segmentFile(directory, 0));
+
+            assertThatExceptionOfType(UncheckedIOException.class)
+                .isThrownBy(() -> sink.write(createEvent(GET_ROLE_PERMISSIONS)));
+            sink.write(createEvent(GET_ROLE_PERMISSIONS));
+
+            Files.delete(BinaryAuditFormat.segmentFile(directory, 0));
+        }
+
+        assertThat(Files.list(directory)).containsExactly(BinaryAuditFormat.segmentFile(directory, 1));
+        assertThat(readRecords(directory)).hasSize(1);
+    }
+
+    @Test
+    void whenSeverityIsBelowMinimumSeverityShouldNotBeEnabled(@TempDir Path directory) {
+        try (BinaryAuditSink sink = new BinaryAuditSink(directory)) {
+            assertThat(sink.isEnabled(AuditLog.Severity.DEBUG)).isFalse();
+            assertThat(sink.isEnabled(AuditLog.Severity.INFO)).isTrue();
+        }
+        try (BinaryAuditSink sink = new BinaryAuditSink(directory, 512, AuditLog.Severity.DEBUG)) {
+            assertThat(sink.isEnabled(AuditLog.Severity.DEBUG)).isTrue();
+        }
+    }
+
+    private AuditEvent createEvent(String method, AuditEntry... entries) {
+        return AuditEvent.builder()
+            .timestamp(Instant.EPOCH)
+            .severity(AuditLog.Severity.INFO)
+            .method(method)
+            .caller(CALLER)
+            .entries(Arrays.asList(entries))
+            .message("")
+            .build();
+    }
+
+    private List<JsonNode> readRecords(Path directory) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (Stream<Path> segments = Files.list(directory).sorted()) {
+            for (Path segment : segments.collect(Collectors.toList())) {
+                BinaryAuditLogReader.writeJson(segment, output);
+            }
+        }
+
+        try (Stream<String> lines = Stream.of(output.toString("UTF-8").split("\n"))) {
+            return lines.filter(line -> !line.isEmpty())
+                .map(this::parse)
+                .collect(Collectors.toList());
+        }
+    }
+
+    private JsonNode parse(String json) {
+        try {
+            return mapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
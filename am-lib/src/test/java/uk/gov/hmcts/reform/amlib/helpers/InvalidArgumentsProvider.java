@@ -12,6 +12,10 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import uk.gov.hmcts.reform.amlib.models.Pair;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -80,7 +84,7 @@ public class InvalidArgumentsProvider implements ArgumentsProvider {
     private Object[] generateInvalidValues(Class<?> parameterType) {
         if (parameterType.equals(String.class)) {
             return new Object[]{null, "", " "};
-        } else if (parameterType.isEnum()) {
+        } else if (parameterType.isEnum() || isStreamType(parameterType)) {
             return new Object[]{null};
         } else if (isComplexTypeSupported(parameterType)) {
             Object[] invalidValues = new Object[]{null};
@@ -154,6 +158,10 @@ public class InvalidArgumentsProvider implements ArgumentsProvider {
             return JsonNodeFactory.instance.objectNode();
         } else if (parameterType.equals(JsonPointer.class)) {
             return JsonPointer.valueOf("");
+        } else if (parameterType.equals(InputStream.class)) {
+            return new ByteArrayInputStream("{}".getBytes());
+        } else if (parameterType.equals(OutputStream.class)) {
+            return new ByteArrayOutputStream();
         } else if (parameterType.isEnum()) {
             return parameterType.getEnumConstants()[0];
         } else if (isComplexTypeSupported(parameterType)) {
@@ -162,6 +170,10 @@ public class InvalidArgumentsProvider implements ArgumentsProvider {
         throw new IllegalArgumentException("Unsupported type: " + parameterType);
     }
 
+    private boolean isStreamType(Class<?> parameterType) {
+        return parameterType.equals(InputStream.class) || parameterType.equals(OutputStream.class);
+    }
+
     private boolean isComplexTypeSupported(Class<?> parameterType) {
         try {
             parameterType.getDeclaredMethod("builder");
@@ -1,6 +1,8 @@
 package uk.gov.hmcts.reform.amlib.internal;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,21 +12,25 @@ import com.google.common.collect.ImmutableSet;
 import lombok.Builder;
 import lombok.Data;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 import uk.gov.hmcts.reform.amlib.enums.Permission;
 import uk.gov.hmcts.reform.amlib.internal.FilterServiceTest.Resource.Address;
 import uk.gov.hmcts.reform.amlib.internal.FilterServiceTest.Resource.Claimant;
 import uk.gov.hmcts.reform.amlib.internal.FilterServiceTest.Resource.Defendant;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static uk.gov.hmcts.reform.amlib.enums.Permission.CREATE;
 import static uk.gov.hmcts.reform.amlib.enums.Permission.READ;
 import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createPermissions;
 
-@SuppressWarnings({"PMD.TooManyMethods", "PMD.AvoidDuplicateLiterals"})
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.AvoidDuplicateLiterals", "PMD.UnusedPrivateMethod"})
 class FilterServiceTest {
 
     private final ObjectMapper mapper = new ObjectMapper()
@@ -528,6 +534,133 @@ class FilterServiceTest {
         );
     }
 
+    @Test
+    void itShouldBePossibleToShowManyLeafLevelValuesWhenParentIsForbidden() throws IOException {
+        JsonNode inputJson = mapper.readTree(ClassLoader.getSystemResource("FilterServiceResources/input.json"));
+
+        Map<JsonPointer, Set<Permission>> attributePermissions = ImmutableMap.of(
+            JsonPointer.valueOf(""), ImmutableSet.of(READ),
+            JsonPointer.valueOf("/claimant"), ImmutableSet.of(CREATE),
+            JsonPointer.valueOf("/claimant/name"), ImmutableSet.of(READ),
+            JsonPointer.valueOf("/claimant/address/postcode"), ImmutableSet.of(READ));
+
+        JsonNode returnedJson = fs.filterJson(inputJson, attributePermissions);
+
+        assertThat(returnedJson).isEqualTo(mapper.valueToTree(
+            Resource.builder()
+                .claimant(Claimant.builder()
+                    .name("John")
+                    .address(Address.builder()
+                        .postcode("SE1")
+                        .build())
+                    .build()
+                )
+                .defendant(Defendant.builder()
+                    .name("Marry")
+                    .address(Address.builder()
+                        .city("Swansea")
+                        .postcode("SA1")
+                        .build())
+                    .build()
+                )
+                .amount(100)
+                .build()
+            )
+        );
+    }
+
+    @Test
+    void itShouldRetainEmptyForbiddenObjectNestedInReadableObjectWhenReadableChildrenDoNotExist() throws IOException {
+        JsonNode inputJson = mapper.readTree(ClassLoader.getSystemResource("FilterServiceResources/input.json"));
+
+        Map<JsonPointer, Set<Permission>> attributePermissions = ImmutableMap.of(
+            JsonPointer.valueOf(""), ImmutableSet.of(READ),
+            JsonPointer.valueOf("/claimant"), ImmutableSet.of(CREATE),
+            JsonPointer.valueOf("/claimant/address/country"), ImmutableSet.of(READ));
+
+        JsonNode returnedJson = fs.filterJson(inputJson, attributePermissions);
+
+        assertThat(returnedJson).isEqualTo(mapper.valueToTree(
+            Resource.builder()
+                .claimant(Claimant.builder()
+                    .address(Address.builder().build())
+                    .build()
+                )
+                .defendant(Defendant.builder()
+                    .name("Marry")
+                    .address(Address.builder()
+                        .city("Swansea")
+                        .postcode("SA1")
+                        .build())
+                    .build()
+                )
+                .amount(100)
+                .build()
+            )
+        );
+    }
+
+    @Test
+    void itShouldNotModifyInputResource() throws IOException {
+        JsonNode inputJson = mapper.readTree(ClassLoader.getSystemResource("FilterServiceResources/input.json"));
+        JsonNode inputJsonCopy = inputJson.deepCopy();
+
+        fs.filterJson(inputJson, createPermissions("/claimant/address", ImmutableSet.of(READ)));
+
+        assertThat(inputJson).isEqualTo(inputJsonCopy);
+    }
+
+    @Test
+    void itShouldReuseCompiledPlanForEqualPermissions() {
+        FilterPlan plan = fs.getFilterPlan(createPermissions("/claimant", ImmutableSet.of(READ)));
+
+        assertThat(fs.getFilterPlan(ImmutableMap.of(JsonPointer.valueOf("/claimant"), ImmutableSet.of(READ))))
+            .isSameAs(plan);
+        assertThat(fs.getFilterPlan(createPermissions("/claimant", ImmutableSet.of(READ, CREATE))))
+            .isNotSameAs(plan);
+    }
+
+    @ParameterizedTest
+    @MethodSource("createPermissionsForStreaming")
+    void itShouldProduceSameResultWhenFilteringStream(Map<JsonPointer, Set<Permission>> attributePermissions)
+        throws IOException {
+        JsonNode inputJson = mapper.readTree(ClassLoader.getSystemResource("FilterServiceResources/input.json"));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonParser parser = mapper.getFactory().createParser(mapper.writeValueAsBytes(inputJson));
+             JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+            fs.filterJson(parser, generator, attributePermissions);
+        }
+
+        JsonNode expectedJson = fs.filterJson(inputJson, attributePermissions);
+        assertThat(mapper.readTree(outputStream.toByteArray()))
+            .isEqualTo(expectedJson == null ? JsonNodeFactory.instance.nullNode() : expectedJson);
+    }
+
+    private static Stream<Map<JsonPointer, Set<Permission>>> createPermissionsForStreaming() {
+        return Stream.of(
+            createPermissions("", ImmutableSet.of(READ)),
+            createPermissions("/name", ImmutableSet.of(CREATE)),
+            createPermissions("/claimant/address", ImmutableSet.of(READ)),
+            ImmutableMap.of(
+                JsonPointer.valueOf(""), ImmutableSet.of(READ),
+                JsonPointer.valueOf("/claimant"), ImmutableSet.of(CREATE),
+                JsonPointer.valueOf("/claimant/address/city"), ImmutableSet.of(READ)),
+            ImmutableMap.of(
+                JsonPointer.valueOf(""), ImmutableSet.of(READ),
+                JsonPointer.valueOf("/claimant"), ImmutableSet.of(CREATE),
+                JsonPointer.valueOf("/claimant/address/country"), ImmutableSet.of(READ)),
+            ImmutableMap.of(
+                JsonPointer.valueOf("/claimant"), ImmutableSet.of(CREATE),
+                JsonPointer.valueOf("/claimant/name"), ImmutableSet.of(READ),
+                JsonPointer.valueOf("/defendant/address/postcode"), ImmutableSet.of(READ)),
+            ImmutableMap.of(
+                JsonPointer.valueOf("/version"), ImmutableSet.of(READ),
+                JsonPointer.valueOf("/claimant/id"), ImmutableSet.of(READ),
+                JsonPointer.valueOf("/defendant/mobile"), ImmutableSet.of(CREATE))
+        );
+    }
+
     @Builder
     @Data
     static class Resource {
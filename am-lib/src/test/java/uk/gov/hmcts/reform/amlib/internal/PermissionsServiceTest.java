@@ -325,4 +325,70 @@ class PermissionsServiceTest {
 
         assertThat(permissionsService.merge(permissions)).isEqualTo(permissions.get(0));
     }
+
+    @Test
+    void whenSourcesDoNotShareAttributesShouldPropagatePermissionsOnlyFromAncestors() {
+        List<Map<JsonPointer, Set<Permission>>> permissions = ImmutableList.of(
+            ImmutableMap.of(
+                JsonPointer.valueOf("/claimant/name"), ImmutableSet.of(READ)
+            ),
+            ImmutableMap.of(
+                JsonPointer.valueOf("/claimant/address"), ImmutableSet.of(UPDATE)
+            )
+        );
+
+        assertThat(permissionsService.merge(permissions))
+            .hasSize(2)
+            .containsEntry(JsonPointer.valueOf("/claimant/name"), ImmutableSet.of(READ))
+            .containsEntry(JsonPointer.valueOf("/claimant/address"), ImmutableSet.of(UPDATE));
+    }
+
+    @Test
+    void whenMoreGroupsThanCanBeMergedInSinglePassAreUsedShouldProperlyMergePermissions() {
+        ImmutableList.Builder<Map<JsonPointer, Set<Permission>>> permissions = ImmutableList.builder();
+        permissions.add(ImmutableMap.of(JsonPointer.valueOf(""), ImmutableSet.of(READ)));
+        for (int i = 1; i < PermissionsService.MAX_SOURCES_PER_PASS * 2; i++) {
+            permissions.add(ImmutableMap.of(JsonPointer.valueOf("/attribute" + i), ImmutableSet.of(CREATE)));
+        }
+        permissions.add(ImmutableMap.of(JsonPointer.valueOf("/claimant/address"), ImmutableSet.of(DELETE)));
+
+        assertThat(permissionsService.merge(permissions.build()))
+            .hasSize(PermissionsService.MAX_SOURCES_PER_PASS * 2 + 1)
+            .containsEntry(JsonPointer.valueOf(""), ImmutableSet.of(READ))
+            .containsEntry(JsonPointer.valueOf("/attribute1"), ImmutableSet.of(CREATE, READ))
+            .containsEntry(JsonPointer.valueOf("/claimant/address"), ImmutableSet.of(READ, DELETE));
+    }
+
+    @Test
+    void whenAttributeIsPresentShouldResolveItsOwnPermissions() {
+        Map<JsonPointer, Set<Permission>> permissions = ImmutableMap.of(
+            JsonPointer.valueOf(""), ImmutableSet.of(READ),
+            JsonPointer.valueOf("/claimant"), ImmutableSet.of(UPDATE)
+        );
+
+        assertThat(permissionsService.getPermissions(permissions, JsonPointer.valueOf("/claimant")))
+            .containsOnly(UPDATE);
+    }
+
+    @Test
+    void whenAttributeIsNotPresentShouldResolvePermissionsOfClosestAncestor() {
+        Map<JsonPointer, Set<Permission>> permissions = ImmutableMap.of(
+            JsonPointer.valueOf(""), ImmutableSet.of(READ),
+            JsonPointer.valueOf("/claimant"), ImmutableSet.of(UPDATE)
+        );
+
+        assertThat(permissionsService.getPermissions(permissions, JsonPointer.valueOf("/claimant/address/city")))
+            .containsOnly(UPDATE);
+        assertThat(permissionsService.getPermissions(permissions, JsonPointer.valueOf("/defendant")))
+            .containsOnly(READ);
+    }
+
+    @Test
+    void whenNeitherAttributeNorAncestorIsPresentShouldResolveNoPermissions() {
+        Map<JsonPointer, Set<Permission>> permissions = ImmutableMap.of(
+            JsonPointer.valueOf("/claimant"), ImmutableSet.of(UPDATE)
+        );
+
+        assertThat(permissionsService.getPermissions(permissions, JsonPointer.valueOf("/defendant"))).isEmpty();
+    }
 }
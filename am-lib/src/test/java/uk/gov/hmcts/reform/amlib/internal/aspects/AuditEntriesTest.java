@@ -0,0 +1,71 @@
+package uk.gov.hmcts.reform.amlib.internal.aspects;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.models.AuditEntry;
+import uk.gov.hmcts.reform.amlib.models.ExplicitAccessGrant;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.amlib.enums.AccessType.EXPLICIT;
+import static uk.gov.hmcts.reform.amlib.enums.AccessorType.USER;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.READ;
+import static uk.gov.hmcts.reform.amlib.helpers.DefaultRoleSetupDataFactory.createResourceDefinition;
+import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createMetadata;
+import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createPermissions;
+
+class AuditEntriesTest {
+    private static final String RESOURCE_ID = "resource";
+    private static final String ACCESSOR_ID = "accessor";
+    private static final ResourceDefinition RESOURCE_DEFINITION = createResourceDefinition("fpl", "case", "claim");
+
+    @Test
+    void whenAccessIsGrantedShouldExtractCopyOfGrantedAccess() {
+        Set<String> accessorIds = new HashSet<>(ImmutableSet.of(ACCESSOR_ID));
+        ExplicitAccessGrant grant = ExplicitAccessGrant.builder()
+            .resourceId(RESOURCE_ID)
+            .resourceDefinition(RESOURCE_DEFINITION)
+            .accessorIds(accessorIds)
+            .accessorType(USER)
+            .attributePermissions(createPermissions("", ImmutableSet.of(READ)))
+            .relationship("caseworker")
+            .build();
+
+        List<AuditEntry> entries =
+            AuditEntries.extract(new String[]{"accessGrant"}, new Object[]{grant}, null);
+        accessorIds.add("other");
+
+        assertThat(entries).containsExactly(AuditEntry.builder()
+            .resourceId(RESOURCE_ID)
+            .resourceDefinition(RESOURCE_DEFINITION)
+            .accessors(ImmutableSet.of(ACCESSOR_ID))
+            .accessType(EXPLICIT)
+            .permissions(createPermissions("", ImmutableSet.of(READ)))
+            .build());
+    }
+
+    @Test
+    void whenAccessIsRevokedShouldExtractRevokedAttributeWithoutPermissions() {
+        assertThat(AuditEntries.extract(new String[]{"accessMetadata"}, new Object[]{createMetadata(
+            RESOURCE_ID, ACCESSOR_ID, "caseworker", RESOURCE_DEFINITION, JsonPointer.valueOf("/name"))}, null))
+            .containsExactly(AuditEntry.builder()
+                .resourceId(RESOURCE_ID)
+                .resourceDefinition(RESOURCE_DEFINITION)
+                .accessors(ImmutableSet.of(ACCESSOR_ID))
+                .accessType(EXPLICIT)
+                .permissions(ImmutableMap.of(JsonPointer.valueOf("/name"), ImmutableSet.of()))
+                .build());
+    }
+
+    @Test
+    void whenArgumentsDoNotDescribeResourceShouldExtractNothing() {
+        assertThat(AuditEntries.extract(new String[]{"userRoles"}, new Object[]{ImmutableSet.of("caseworker")}, null))
+            .isEmpty();
+    }
+}
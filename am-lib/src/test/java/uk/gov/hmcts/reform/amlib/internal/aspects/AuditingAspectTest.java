@@ -1,23 +1,54 @@
 package uk.gov.hmcts.reform.amlib.internal.aspects;
 
+import com.fasterxml.jackson.core.JsonPointer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import lombok.AllArgsConstructor;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.aspectj.runtime.reflect.Factory;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.slf4j.MDC;
+import uk.gov.hmcts.reform.amlib.AccessManagementService;
+import uk.gov.hmcts.reform.amlib.audit.AuditSink;
+import uk.gov.hmcts.reform.amlib.audit.AuditSinks;
+import uk.gov.hmcts.reform.amlib.audit.LoggingAuditSink;
+import uk.gov.hmcts.reform.amlib.enums.Permission;
 import uk.gov.hmcts.reform.amlib.internal.aspects.AuditingAspect.InvalidTemplateExpressionException;
+import uk.gov.hmcts.reform.amlib.models.AccessEnvelope;
+import uk.gov.hmcts.reform.amlib.models.AuditEntry;
+import uk.gov.hmcts.reform.amlib.models.AuditEvent;
+import uk.gov.hmcts.reform.amlib.models.FilteredResourceEnvelope;
+import uk.gov.hmcts.reform.amlib.models.Resource;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
-
-@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+import static uk.gov.hmcts.reform.amlib.enums.AccessType.ROLE_BASED;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.READ;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.UPDATE;
+import static uk.gov.hmcts.reform.amlib.helpers.DefaultRoleSetupDataFactory.createResourceDefinition;
+import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createPermissions;
+import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createResource;
+
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.ExcessiveImports"})
 class AuditingAspectTest {
     private final AuditingAspect aspect = new AuditingAspect();
 
@@ -172,6 +203,109 @@ class AuditingAspectTest {
         }
     }
 
+    @Nested
+    @DisplayName("whenAuditedPerElement")
+    class WhenAuditedPerElement {
+        private final RecordingAuditSink sink = new RecordingAuditSink();
+
+        @BeforeEach
+        void setUpSink() {
+            AuditSinks.setSink(sink);
+        }
+
+        @AfterEach
+        void resetSink() {
+            AuditSinks.setSink(new LoggingAuditSink());
+        }
+
+        @Test
+        void whenListOfResourcesIsFilteredShouldWriteEventPerResourceWithResultAtSamePosition() {
+            ResourceDefinition resourceDefinition = createResourceDefinition("fpl", "case", "claim");
+            List<Resource> resources = Arrays.asList(
+                createResource("ae4c7", resourceDefinition), createResource("bf5d8", resourceDefinition));
+            JoinPoint joinPoint = createFilterResourcesJoinPoint("accessor", ImmutableSet.of("caseworker"), resources);
+
+            aspect.after(joinPoint, Arrays.asList(FilteredResourceEnvelope.builder()
+                .resource(resources.get(0))
+                .access(AccessEnvelope.builder()
+                    .accessType(ROLE_BASED)
+                    .permissions(createPermissions("/name", ImmutableSet.of(READ)))
+                    .build())
+                .relationships(ImmutableSet.of())
+                .build(), null));
+
+            assertThat(sink.events).extracting(AuditEvent::getMessage).containsExactly(
+                "[Access Management audit]: filtered access to resource 'ae4c7' defined as 'fpl|case|claim' for "
+                    + "accessor 'accessor' in roles '[caseworker]': ROLE_BASED access with relationships [] "
+                    + "and permissions {/name=[READ]}",
+                "[Access Management audit]: filtered access to resource 'bf5d8' defined as 'fpl|case|claim' for "
+                    + "accessor 'accessor' in roles '[caseworker]': null access with relationships null "
+                    + "and permissions null");
+            assertThat(sink.events).extracting(AuditEvent::getEntries).allMatch(List::isEmpty);
+        }
+
+        @Test
+        void whenSinkRequiresEntriesShouldWriteCopiesOfResourcesEventsAreAbout() {
+            sink.entriesRequired = true;
+            ResourceDefinition resourceDefinition = createResourceDefinition("fpl", "case", "claim");
+            List<Resource> resources = Arrays.asList(
+                createResource("ae4c7", resourceDefinition), createResource("bf5d8", resourceDefinition));
+            Map<JsonPointer, Set<Permission>> permissions = new ConcurrentHashMap<>(
+                createPermissions("/name", EnumSet.of(READ)));
+            JoinPoint joinPoint = createFilterResourcesJoinPoint("accessor", ImmutableSet.of("caseworker"), resources);
+
+            aspect.after(joinPoint, Arrays.asList(FilteredResourceEnvelope.builder()
+                .resource(resources.get(0))
+                .access(AccessEnvelope.builder().accessType(ROLE_BASED).permissions(permissions).build())
+                .build(), null));
+            permissions.get(JsonPointer.valueOf("/name")).add(UPDATE);
+            permissions.put(JsonPointer.valueOf("/address"), EnumSet.of(READ));
+
+            assertThat(sink.events).extracting(AuditEvent::getEntries).containsExactly(
+                ImmutableList.of(AuditEntry.builder()
+                    .resourceId("ae4c7")
+                    .resourceDefinition(resourceDefinition)
+                    .accessors(ImmutableSet.of("accessor"))
+                    .accessType(ROLE_BASED)
+                    .permissions(createPermissions("/name", ImmutableSet.of(READ)))
+                    .build()),
+                ImmutableList.of(AuditEntry.builder()
+                    .resourceId("bf5d8")
+                    .resourceDefinition(resourceDefinition)
+                    .accessors(ImmutableSet.of("accessor"))
+                    .permissions(ImmutableMap.of())
+                    .build()));
+        }
+
+        private JoinPoint createFilterResourcesJoinPoint(Object... args) {
+            Factory factory = new Factory("AccessManagementService.java", AccessManagementService.class);
+            MethodSignature signature = factory.makeMethodSig(Modifier.PUBLIC, "filterResource",
+                AccessManagementService.class, new Class<?>[]{String.class, Set.class, List.class},
+                new String[]{"userId", "userRoles", "resources"}, new Class<?>[0], List.class);
+            return Factory.makeJP(factory.makeSJP(JoinPoint.METHOD_EXECUTION, signature, 1), null, null, args);
+        }
+    }
+
+    private static class RecordingAuditSink implements AuditSink {
+        private final List<AuditEvent> events = new ArrayList<>();
+        private boolean entriesRequired;
+
+        @Override
+        public boolean isEnabled(AuditLog.Severity severity) {
+            return true;
+        }
+
+        @Override
+        public boolean requiresEntries() {
+            return entriesRequired;
+        }
+
+        @Override
+        public void write(AuditEvent event) {
+            events.add(event);
+        }
+    }
+
     @Nested
     @DisplayName("whenErrors")
     class WhenErrors {
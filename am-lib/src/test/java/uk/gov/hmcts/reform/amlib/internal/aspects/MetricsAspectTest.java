@@ -0,0 +1,121 @@
+package uk.gov.hmcts.reform.amlib.internal.aspects;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.aspectj.runtime.internal.AroundClosure;
+import org.aspectj.runtime.reflect.Factory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.AccessManagementService;
+import uk.gov.hmcts.reform.amlib.metrics.MetricsRecorder;
+import uk.gov.hmcts.reform.amlib.metrics.MetricsRecorders;
+import uk.gov.hmcts.reform.amlib.metrics.NoOpMetricsRecorder;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.METHOD_TIMER;
+import static uk.gov.hmcts.reform.amlib.metrics.MetricNames.NULL_RESULT_COUNTER;
+
+class MetricsAspectTest {
+    private static final String TAG = "AccessManagementService.filterResource";
+
+    private final MetricsAspect aspect = new MetricsAspect();
+    private final RecordingMetricsRecorder recorder = new RecordingMetricsRecorder();
+
+    @BeforeEach
+    void setUpRecorder() {
+        MetricsRecorders.setRecorder(recorder);
+    }
+
+    @AfterEach
+    void resetRecorder() {
+        MetricsRecorders.setRecorder(new NoOpMetricsRecorder());
+    }
+
+    @Test
+    void whenMethodReturnsResultShouldRecordItsTime() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(Object.class, () -> "result");
+
+        assertThat(aspect.around(joinPoint)).isEqualTo("result");
+
+        assertThat(recorder.timers).containsExactly(METHOD_TIMER + ":" + TAG);
+        assertThat(recorder.counters).isEmpty();
+    }
+
+    @Test
+    void whenMethodReturnsNullShouldCountNullResult() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(Object.class, () -> null);
+
+        aspect.around(joinPoint);
+
+        assertThat(recorder.timers).containsExactly(METHOD_TIMER + ":" + TAG);
+        assertThat(recorder.counters).containsExactly(NULL_RESULT_COUNTER + ":" + TAG);
+    }
+
+    @Test
+    void whenMethodReturnsVoidShouldNotCountNullResult() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(void.class, () -> null);
+
+        aspect.around(joinPoint);
+
+        assertThat(recorder.timers).containsExactly(METHOD_TIMER + ":" + TAG);
+        assertThat(recorder.counters).isEmpty();
+    }
+
+    @Test
+    void whenMethodThrowsExceptionShouldRecordItsTime() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint(Object.class, () -> {
+            throw new IllegalStateException();
+        });
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> aspect.around(joinPoint));
+
+        assertThat(recorder.timers).containsExactly(METHOD_TIMER + ":" + TAG);
+        assertThat(recorder.counters).isEmpty();
+    }
+
+    private ProceedingJoinPoint createJoinPoint(Class<?> returnType, MethodBody body) {
+        Factory factory = new Factory("AccessManagementService.java", AccessManagementService.class);
+        MethodSignature signature = factory.makeMethodSig(Modifier.PUBLIC, "filterResource",
+            AccessManagementService.class, new Class<?>[]{Set.class}, new String[]{"userRoles"}, new Class<?>[0],
+            returnType);
+        JoinPoint.StaticPart staticPart = factory.makeSJP(JoinPoint.METHOD_EXECUTION, signature, 1);
+
+        ProceedingJoinPoint joinPoint = (ProceedingJoinPoint) Factory.makeJP(staticPart, null, null, new Object[0]);
+        joinPoint.set$AroundClosure(new AroundClosure() {
+            @Override
+            public Object run(Object[] args) {
+                return body.run();
+            }
+        });
+        return joinPoint;
+    }
+
+    @FunctionalInterface
+    private interface MethodBody {
+        Object run();
+    }
+
+    private static class RecordingMetricsRecorder implements MetricsRecorder {
+        private final List<String> timers = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> counters = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void recordTime(String name, String tag, long durationNanos) {
+            timers.add(name + ":" + tag);
+        }
+
+        @Override
+        public void increment(String name, String tag) {
+            counters.add(name + ":" + tag);
+        }
+    }
+}
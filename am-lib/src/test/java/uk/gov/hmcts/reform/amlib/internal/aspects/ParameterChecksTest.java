@@ -0,0 +1,59 @@
+package uk.gov.hmcts.reform.amlib.internal.aspects;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.internal.aspects.ParameterChecks.ParameterCheck;
+import uk.gov.hmcts.reform.amlib.models.Resource;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.amlib.helpers.DefaultRoleSetupDataFactory.createResourceDefinition;
+import static uk.gov.hmcts.reform.amlib.helpers.TestDataFactory.createResource;
+
+class ParameterChecksTest {
+    private static final Resource VALID_RESOURCE = createResource("resource", createResourceDefinition("fpl", "case",
+        "claim"));
+    private static final Resource INVALID_RESOURCE = createResource("resource", createResourceDefinition("fpl", "case",
+        " "));
+
+    @Test
+    void whenStringIsBlankShouldFailCheck() {
+        ParameterCheck check = ParameterChecks.forFilterResource(String.class)[0];
+
+        assertThat(check.isValid("user", true)).isTrue();
+        assertThat(check.isValid(null, true)).isFalse();
+        assertThat(check.isValid(" \t\n\u0000", true)).isFalse();
+    }
+
+    @Test
+    void whenSetIsEmptyOrHasBlankElementsShouldFailCheck() {
+        ParameterCheck check = ParameterChecks.forFilterResource(Set.class)[0];
+
+        assertThat(check.isValid(ImmutableSet.of("caseworker"), true)).isTrue();
+        assertThat(check.isValid(ImmutableSet.of(), true)).isFalse();
+        assertThat(check.isValid(ImmutableSet.of("caseworker", ""), true)).isFalse();
+    }
+
+    @Test
+    void whenCheckIsDeepShouldCheckContentOfResources() {
+        ParameterCheck[] checks = ParameterChecks.forFilterResource(Resource.class, List.class);
+
+        assertThat(checks[0].isValid(VALID_RESOURCE, true)).isTrue();
+        assertThat(checks[0].isValid(INVALID_RESOURCE, true)).isFalse();
+        assertThat(checks[1].isValid(ImmutableList.of(VALID_RESOURCE, INVALID_RESOURCE), true)).isFalse();
+    }
+
+    @Test
+    void whenCheckIsShallowShouldNotCheckContentOfResources() {
+        ParameterCheck[] checks = ParameterChecks.forFilterResource(Resource.class, List.class, InputStream.class);
+
+        assertThat(checks[0].isValid(INVALID_RESOURCE, false)).isTrue();
+        assertThat(checks[0].isValid(null, false)).isFalse();
+        assertThat(checks[1].isValid(ImmutableList.of(VALID_RESOURCE, INVALID_RESOURCE), false)).isTrue();
+        assertThat(checks[2].isValid(null, false)).isFalse();
+    }
+}
@@ -0,0 +1,89 @@
+package uk.gov.hmcts.reform.amlib.internal.cache;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.models.CacheStatistics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class BoundedCacheTest {
+
+    private final BoundedCache<String, String> cache = new BoundedCache<>(2);
+
+    @Test
+    void whenCapacityIsExceededShouldEvictLeastRecentlyUsedEntry() {
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        cache.put("c", "C");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isEqualTo("A");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo("C");
+    }
+
+    @Test
+    void whenValueIsCachedShouldNotComputeItAgain() {
+        cache.put("a", "A");
+
+        assertThat(cache.computeIfAbsent("a", key -> "other")).isEqualTo("A");
+        assertThat(cache.computeIfAbsent("b", String::toUpperCase)).isEqualTo("B");
+        assertThat(cache.get("b")).isEqualTo("B");
+    }
+
+    @Test
+    void whenInvalidatedShouldRemoveAllEntries() {
+        cache.put("a", "A");
+
+        cache.invalidateAll();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void whenMaximumSizeIsNotPositiveShouldThrowException() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> new BoundedCache<>(0))
+            .withMessage("Maximum cache size must be positive but was 0");
+    }
+
+    @Test
+    void whenTimeToLiveElapsesShouldExpireEntry() {
+        AtomicLong clock = new AtomicLong();
+        BoundedCache<String, String> expiringCache = new BoundedCache<>(2, Duration.ofNanos(10), clock::get);
+        expiringCache.put("a", "A");
+
+        clock.set(9);
+        assertThat(expiringCache.get("a")).isEqualTo("A");
+
+        clock.set(10);
+        assertThat(expiringCache.get("a")).isNull();
+        assertThat(expiringCache.size()).isZero();
+    }
+
+    @Test
+    void whenTimeToLiveIsNotPositiveShouldThrowException() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> new BoundedCache<>(1, Duration.ZERO))
+            .withMessage("Cache time to live must be positive but was PT0S");
+    }
+
+    @Test
+    void whenValuesAreRequestedShouldCountHitsAndMisses() {
+        cache.put("a", "A");
+
+        cache.get("a");
+        cache.get("b");
+        cache.computeIfAbsent("a", String::toUpperCase);
+
+        assertThat(cache.getStatistics()).isEqualTo(CacheStatistics.builder()
+            .hitCount(2)
+            .missCount(1)
+            .size(1)
+            .build());
+    }
+}
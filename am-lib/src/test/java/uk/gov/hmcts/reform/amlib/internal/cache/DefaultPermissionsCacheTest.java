@@ -0,0 +1,77 @@
+package uk.gov.hmcts.reform.amlib.internal.cache;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.internal.models.query.AttributeData;
+import uk.gov.hmcts.reform.amlib.models.ResourceDefinition;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.CREATE;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.READ;
+import static uk.gov.hmcts.reform.amlib.enums.SecurityClassification.PUBLIC;
+
+class DefaultPermissionsCacheTest {
+
+    private static final ResourceDefinition CASE = new ResourceDefinition("cmc", "case", "claim");
+    private static final ResourceDefinition OTHER_CASE = new ResourceDefinition("cmc", "case", "defence");
+    private static final JsonPointer ROOT = JsonPointer.valueOf("");
+
+    private final DefaultPermissionsCache cache = new DefaultPermissionsCache();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<ResourceDefinition, List<AttributeData>> loader = resourceDefinition -> {
+        loads.incrementAndGet();
+        return ImmutableList.of(
+            new AttributeData("caseworker", ROOT, PUBLIC, ImmutableSet.of(READ)),
+            new AttributeData("solicitor", ROOT, PUBLIC, ImmutableSet.of(CREATE)));
+    };
+
+    @Test
+    void whenSnapshotIsLoadedShouldExposePermissionsPerRole() {
+        DefaultPermissionsSnapshot snapshot = cache.getSnapshot(CASE, loader);
+
+        assertThat(snapshot.getPermissions("caseworker")).isEqualTo(ImmutableMap.of(ROOT, ImmutableSet.of(READ)));
+        assertThat(snapshot.getAttributeData("solicitor")).extracting(AttributeData::getPermissions)
+            .containsExactly(ImmutableSet.of(CREATE));
+        assertThat(snapshot.getPermissions("judge")).isEmpty();
+        assertThat(snapshot.getAttributeData("judge")).isEmpty();
+    }
+
+    @Test
+    void whenSnapshotIsRequestedAgainShouldNotLoadIt() {
+        cache.getSnapshot(CASE, loader);
+        cache.getSnapshot(CASE, loader);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void whenResourceDefinitionIsInvalidatedShouldLoadOnlyItsSnapshotAgain() {
+        cache.getSnapshot(CASE, loader);
+        cache.getSnapshot(OTHER_CASE, loader);
+
+        DefaultPermissionsCache.invalidateAllInstances(CASE::equals);
+        cache.getSnapshot(CASE, loader);
+        cache.getSnapshot(OTHER_CASE, loader);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void whenInvalidatedWhileLoadingShouldNotCacheLoadedSnapshot() {
+        cache.getSnapshot(CASE, resourceDefinition -> {
+            cache.invalidateAll();
+            return loader.apply(resourceDefinition);
+        });
+
+        cache.getSnapshot(CASE, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,113 @@
+package uk.gov.hmcts.reform.amlib.internal.cache;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.internal.models.Role;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toSet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.amlib.enums.AccessType.ROLE_BASED;
+import static uk.gov.hmcts.reform.amlib.enums.RoleType.IDAM;
+import static uk.gov.hmcts.reform.amlib.enums.SecurityClassification.PUBLIC;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class RoleCacheTest {
+
+    private static final Role CASEWORKER = new Role("caseworker", IDAM, PUBLIC, ROLE_BASED);
+
+    private final RoleCache cache = new RoleCache();
+    private final List<Set<String>> loadedRoleNames = new ArrayList<>();
+    private final Function<Set<String>, Set<Role>> loader = roleNames -> {
+        loadedRoleNames.add(roleNames);
+        return roleNames.contains(CASEWORKER.getRoleName()) ? ImmutableSet.of(CASEWORKER) : ImmutableSet.of();
+    };
+
+    @Test
+    void whenRolesAreRequestedAgainShouldLoadOnlyRolesThatAreNotCached() {
+        cache.getRoles(ImmutableSet.of("caseworker", "unknown"), loader);
+
+        Set<Role> roles = cache.getRoles(ImmutableSet.of("caseworker", "unknown", "solicitor"), loader);
+
+        assertThat(roles).containsOnly(CASEWORKER);
+        assertThat(loadedRoleNames)
+            .containsExactly(ImmutableSet.of("caseworker", "unknown"), ImmutableSet.of("solicitor"));
+        assertThat(cache.getStatistics().getHitCount()).isEqualTo(2);
+        assertThat(cache.getStatistics().getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    void whenAllInstancesAreInvalidatedShouldLoadRolesAgain() {
+        cache.getRoles(ImmutableSet.of("caseworker"), loader);
+
+        RoleCache.invalidateAllInstances();
+
+        assertThat(cache.getRoles(ImmutableSet.of("caseworker"), loader)).containsOnly(CASEWORKER);
+        assertThat(loadedRoleNames).hasSize(2);
+    }
+
+    @Test
+    void whenInvalidatedWhileLoadingShouldNotCacheLoadedRoles() {
+        cache.getRoles(ImmutableSet.of("caseworker"), roleNames -> {
+            cache.invalidateAll();
+            return loader.apply(roleNames);
+        });
+
+        cache.getRoles(ImmutableSet.of("caseworker"), loader);
+
+        assertThat(loadedRoleNames).hasSize(2);
+    }
+
+    @Test
+    @SuppressWarnings({
+        "PMD.DoNotUseThreads",
+        "PMD.UseConcurrentHashMap" // Loaded versions are tracked per role instance, not per equal role
+    })
+    void whenAllInstancesAreInvalidatedWhileLoadingConcurrentlyShouldNeverServeRolesLoadedBeforeInvalidation()
+        throws InterruptedException {
+        Set<String> roleNames = IntStream.range(0, 100).mapToObj(i -> "role" + i).collect(toSet());
+        AtomicInteger version = new AtomicInteger();
+        AtomicInteger invalidatedVersion = new AtomicInteger();
+        Map<Role, Integer> loadedVersions = Collections.synchronizedMap(new IdentityHashMap<>());
+        Function<Set<String>, Set<Role>> versionedLoader = names -> {
+            int loadedVersion = version.get();
+            return names.stream()
+                .map(roleName -> {
+                    Role role = new Role(roleName, IDAM, PUBLIC, ROLE_BASED);
+                    loadedVersions.put(role, loadedVersion);
+                    return role;
+                })
+                .collect(toSet());
+        };
+
+        Thread updater = new Thread(() -> {
+            for (int i = 1; i <= 10_000; i++) {
+                version.set(i);
+                RoleCache.invalidateAllInstances();
+                invalidatedVersion.set(i);
+            }
+        });
+        updater.start();
+        int oldestServedVersion = Integer.MAX_VALUE;
+        int oldestAllowedVersion = 0;
+        while (updater.isAlive() && oldestServedVersion >= oldestAllowedVersion) {
+            oldestAllowedVersion = invalidatedVersion.get();
+            oldestServedVersion = cache.getRoles(roleNames, versionedLoader).stream()
+                .mapToInt(loadedVersions::get)
+                .min()
+                .orElse(Integer.MAX_VALUE);
+        }
+        updater.join();
+
+        assertThat(oldestServedVersion).isGreaterThanOrEqualTo(oldestAllowedVersion);
+    }
+}
@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.amlib.internal.repositories;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.internal.models.ExplicitAccessRecord;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.amlib.enums.AccessorType.USER;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.CREATE;
+import static uk.gov.hmcts.reform.amlib.enums.Permission.READ;
+
+class ExplicitAccessCopyWriterTest {
+
+    @Test
+    void appendRecordShouldWriteColumnsInCopyOrderSeparatedByTabs() {
+        StringBuilder chunk = new StringBuilder();
+
+        ExplicitAccessCopyWriter.appendRecord(chunk, createRecord("/name"));
+
+        assertThat(chunk.toString())
+            .isEqualTo("resource\taccessor\t3\tUSER\tservice\tcase\tclaim\t/name\tcaseworker\n");
+    }
+
+    @Test
+    void appendRecordShouldEscapeCharactersWithSpecialMeaningInCopyFormat() {
+        StringBuilder chunk = new StringBuilder();
+
+        ExplicitAccessCopyWriter.appendRecord(chunk, createRecord("/a\\b\tc\nd\re"));
+
+        assertThat(chunk.toString()).contains("\t/a\\\\b\\tc\\nd\\re\t");
+    }
+
+    private ExplicitAccessRecord createRecord(String attribute) {
+        return ExplicitAccessRecord.builder()
+            .resourceId("resource")
+            .accessorId("accessor")
+            .accessorType(USER)
+            .serviceName("service")
+            .resourceType("case")
+            .resourceName("claim")
+            .attribute(JsonPointer.valueOf(attribute))
+            .permissions(ImmutableSet.of(CREATE, READ))
+            .relationship("caseworker")
+            .build();
+    }
+}
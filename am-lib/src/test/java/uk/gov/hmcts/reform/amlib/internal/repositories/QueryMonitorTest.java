@@ -0,0 +1,71 @@
+package uk.gov.hmcts.reform.amlib.internal.repositories;
+
+import com.google.common.collect.ImmutableList;
+import org.jdbi.v3.core.statement.ParsedParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.amlib.QuerySettings;
+import uk.gov.hmcts.reform.amlib.models.QueryStatistics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static uk.gov.hmcts.reform.amlib.internal.repositories.QueryMonitor.HISTOGRAM_BUCKETS;
+
+class QueryMonitorTest {
+    private static final String QUERY_NAME = "AccessManagementRepository.getExplicitAccess";
+
+    private final QueryMonitor monitor = new QueryMonitor();
+
+    @AfterEach
+    void resetThreshold() {
+        QuerySettings.setSlowQueryThreshold(Duration.ofMillis(500));
+    }
+
+    @Test
+    void whenStatementsAreRecordedShouldAggregateTheirStatistics() {
+        monitor.record(QUERY_NAME, TimeUnit.MICROSECONDS.toNanos(500), -1, false, () -> "");
+        monitor.record(QUERY_NAME, TimeUnit.MILLISECONDS.toNanos(3), 2, false, () -> "");
+        monitor.record(QUERY_NAME, TimeUnit.MILLISECONDS.toNanos(5), -1, true, () -> "");
+
+        QueryStatistics statistics = monitor.getStatistics().get(QUERY_NAME);
+
+        assertThat(statistics.getExecutionCount()).isEqualTo(3);
+        assertThat(statistics.getFailureCount()).isEqualTo(1);
+        assertThat(statistics.getSlowExecutionCount()).isZero();
+        assertThat(statistics.getAffectedRowCount()).isEqualTo(2);
+        assertThat(statistics.getTotalTime()).isEqualTo(Duration.ofMillis(8).plus(Duration.ofNanos(500_000)));
+        assertThat(statistics.getMaxTime()).isEqualTo(Duration.ofMillis(5));
+        assertThat(statistics.getLatencyHistogram()).hasSize(HISTOGRAM_BUCKETS)
+            .contains(entry(Duration.ZERO, 1L), entry(Duration.ofMillis(2), 1L), entry(Duration.ofMillis(4), 1L));
+    }
+
+    @Test
+    void whenStatementIsSlowerThanThresholdShouldCountItAsSlow() {
+        QuerySettings.setSlowQueryThreshold(Duration.ofMillis(1));
+
+        monitor.record(QUERY_NAME, TimeUnit.MILLISECONDS.toNanos(2), 0, false, () -> "[userId]");
+        monitor.record(QUERY_NAME, TimeUnit.MICROSECONDS.toNanos(10), 0, false, () -> "[userId]");
+
+        assertThat(monitor.getStatistics().get(QUERY_NAME).getSlowExecutionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void histogramBucketShouldDoubleFromOneMillisecond() {
+        assertThat(QueryMonitor.histogramBucket(TimeUnit.MICROSECONDS.toNanos(999))).isEqualTo(0);
+        assertThat(QueryMonitor.histogramBucket(TimeUnit.MILLISECONDS.toNanos(1))).isEqualTo(1);
+        assertThat(QueryMonitor.histogramBucket(TimeUnit.MILLISECONDS.toNanos(7))).isEqualTo(3);
+        assertThat(QueryMonitor.histogramBucket(TimeUnit.HOURS.toNanos(1))).isEqualTo(HISTOGRAM_BUCKETS - 1);
+    }
+
+    @Test
+    void parametersShouldBeDescribedWithoutValues() {
+        assertThat(QueryMonitor.describeParameters(ParsedParameters.named(
+            ImmutableList.of("userId", "__resourceIds_0", "__resourceIds_1", "__resourceIds_2", "userId"))))
+            .isEqualTo("[userId, resourceIds(3)]");
+        assertThat(QueryMonitor.describeParameters(ParsedParameters.positional(2)))
+            .isEqualTo("[2 positional]");
+    }
+}
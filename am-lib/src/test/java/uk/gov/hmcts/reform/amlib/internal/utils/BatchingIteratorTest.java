@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.amlib.internal.utils;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class BatchingIteratorTest {
+
+    @Test
+    void whenSourceIsEmptyShouldHaveNoBatches() {
+        Iterator<List<Integer>> batches = new BatchingIterator<>(Collections.<Integer>emptyIterator(), 2);
+
+        assertThat(batches.hasNext()).isFalse();
+        assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(batches::next);
+    }
+
+    @Test
+    void whenSourceIsNotMultipleOfBatchSizeShouldReturnShorterLastBatch() {
+        Iterator<List<Integer>> batches = new BatchingIterator<>(ImmutableList.of(1, 2, 3, 4, 5).iterator(), 2);
+
+        assertThat(ImmutableList.copyOf(batches))
+            .containsExactly(ImmutableList.of(1, 2), ImmutableList.of(3, 4), ImmutableList.of(5));
+    }
+
+    @Test
+    void whenBatchIsRequestedShouldReadOnlyElementsOfThatBatch() {
+        Iterator<Integer> source = ImmutableList.of(1, 2, 3).iterator();
+        Iterator<List<Integer>> batches = new BatchingIterator<>(source, 2);
+
+        assertThat(batches.next()).containsExactly(1, 2);
+        assertThat(source.next()).isEqualTo(3);
+    }
+
+    @Test
+    void whenBatchSizeIsNotPositiveShouldThrowException() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> new BatchingIterator<>(Collections.emptyIterator(), 0));
+    }
+}
@@ -0,0 +1,64 @@
+package uk.gov.hmcts.reform.amlib.internal.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class BoundedRingBufferTest {
+
+    @Test
+    void whenBufferIsFullShouldRejectElement() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(2);
+
+        assertThat(buffer.offer(1)).isTrue();
+        assertThat(buffer.offer(2)).isTrue();
+        assertThat(buffer.offer(3)).isFalse();
+    }
+
+    @Test
+    void whenCapacityIsNotPowerOfTwoShouldRoundItUp() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(3);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+    }
+
+    @Test
+    void whenDrainingShouldReturnElementsInOrderTheyWereAddedUpToMaximumCount() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        buffer.offer(1);
+        buffer.offer(2);
+        buffer.offer(3);
+        List<Integer> target = new ArrayList<>();
+
+        assertThat(buffer.drainTo(target, 2)).isEqualTo(2);
+        assertThat(target).containsExactly(1, 2);
+        assertThat(buffer.isEmpty()).isFalse();
+    }
+
+    @Test
+    void whenElementsAreDrainedShouldReuseSlots() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(2);
+        List<Integer> target = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+            buffer.drainTo(target, 1);
+        }
+
+        assertThat(target).containsExactly(0, 1, 2, 3, 4);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void whenCapacityIsNotPositiveShouldThrowException() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> new BoundedRingBuffer<>(0));
+    }
+}
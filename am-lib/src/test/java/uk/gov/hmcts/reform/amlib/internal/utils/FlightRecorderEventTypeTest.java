@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.amlib.internal.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static uk.gov.hmcts.reform.amlib.internal.utils.FlightRecorderEventType.FILTER_JSON;
+
+class FlightRecorderEventTypeTest {
+
+    @Test
+    void whenNoRecordingIsRunningShouldReturnDisabledEvent() {
+        FlightRecorderEvent event = FILTER_JSON.begin();
+
+        assertThat(event.isEnabled()).isFalse();
+        event.commit(1, 1L, false);
+    }
+
+    @Test
+    void whenEventIsEnabledInRecordingShouldRecordEvent(@TempDir Path directory) throws Exception {
+        assumeTrue(FlightRecorderApi.INSTANCE.isPresent(), "Java Flight Recorder API is not available");
+
+        // Recording API is accessed reflectively for tests to compile on Java 8
+        Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        Path file = directory.resolve("recording.jfr");
+        try (AutoCloseable recording = (AutoCloseable) recordingClass.getConstructor().newInstance()) {
+            recordingClass.getMethod("enable", String.class).invoke(recording, FILTER_JSON.getName());
+            recordingClass.getMethod("start").invoke(recording);
+
+            FlightRecorderEvent event = FILTER_JSON.begin();
+            assertThat(event.isEnabled()).isTrue();
+            event.commit(2, 42L, true);
+
+            recordingClass.getMethod("stop").invoke(recording);
+            recordingClass.getMethod("dump", Path.class).invoke(recording, file);
+        }
+
+        List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+            .getMethod("readAllEvents", Path.class).invoke(null, file);
+        Class<?> recordedObjectClass = Class.forName("jdk.jfr.consumer.RecordedObject");
+
+        assertThat(events).hasSize(1);
+        Object recordedEvent = events.get(0);
+        assertThat(recordedObjectClass.getMethod("getInt", String.class).invoke(recordedEvent, "pointerCount"))
+            .isEqualTo(2);
+        assertThat(recordedObjectClass.getMethod("getLong", String.class).invoke(recordedEvent, "jsonSize"))
+            .isEqualTo(42L);
+        assertThat(recordedObjectClass.getMethod("getBoolean", String.class).invoke(recordedEvent, "streaming"))
+            .isEqualTo(true);
+    }
+}
@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.amapi.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import uk.gov.hmcts.reform.amlib.AccessManagementService;
+import uk.gov.hmcts.reform.amlib.CacheInvalidationListener;
 
 import javax.sql.DataSource;
 
@@ -13,4 +14,9 @@ public class AccessManagementServiceConfiguration {
     public AccessManagementService getAccessManagementService(DataSource dataSource) {
         return new AccessManagementService(dataSource);
     }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public CacheInvalidationListener getCacheInvalidationListener(DataSource dataSource) {
+        return new CacheInvalidationListener(dataSource);
+    }
 }